@@ -6,9 +6,9 @@
 
 package src.Algorithms;
 
-import java.util.*;
+import java.util.Arrays;
 
-import src.Core.Edge;
+import src.Core.CsrGraph;
 import src.Core.Graph;
 
 public class AGM {
@@ -18,21 +18,36 @@ public class AGM {
     public static Graph kruskalMST(Graph g) {
         int n = g.getNodesNum();
         Graph mst = new Graph(n);
-
-        // Ordena as arestas por peso
-        List<Edge> edges = new ArrayList<>(g.getEdges());
-        edges.sort(Comparator.comparingInt(Edge::getWeight));
+        CsrGraph csr = g.toCsr();
+
+        // Ordena as arestas por peso: chave = (peso, id original) empacotada num long,
+        // assim o desempate fica igual ao sort estavel da lista de arestas
+        int m = csr.getEdgesNum();
+        long[] order = new long[m];
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int i = 0;
+        for (int u = 1; u <= csr.getNodesNum(); u++) {
+            for (int k = csr.outBegin(u); k < csr.outEnd(u); k++) {
+                int id = csr.edgeId(k);
+                from[id] = u;
+                to[id] = csr.target(k);
+                order[i++] = ((long) csr.weight(k) << 32) | id;
+            }
+        }
+        Arrays.sort(order);
 
         // Estrutura para union-find
-        int[] parent = new int[n + 1];
-        for (int i = 1; i <= n; i++) parent[i] = i;
+        int[] parent = new int[csr.getNodesNum() + 1];
+        for (int v = 1; v <= csr.getNodesNum(); v++) parent[v] = v;
 
-        for (Edge e : edges) {
-            int uRoot = find(parent, e.getNode1());
-            int vRoot = find(parent, e.getNode2());
+        for (long key : order) {
+            int id = (int) key;
+            int uRoot = find(parent, from[id]);
+            int vRoot = find(parent, to[id]);
 
             if (uRoot != vRoot) { // se não forma ciclo
-                mst.insertEdge(e.getNode1(), e.getNode2(), e.getWeight());
+                mst.insertEdge(from[id], to[id], (int) (key >> 32));
                 parent[uRoot] = vRoot;
             }
         }
@@ -0,0 +1,251 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: ALT (A*, Landmarks, desigualdade Triangular)
+ * os grafos não tem coordenadas, então o limite inferior do A* vem de distancias
+ * pre-calculadas de/para alguns nós escolhidos (landmarks):
+ *   d(v,t) >= d(L,t) - d(L,v)   e   d(v,t) >= d(v,L) - d(t,L)
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class AltIndex {
+
+    public enum Selection { FARTHEST, AVOID }
+
+    public static final int DEFAULT_LANDMARKS = 16;
+
+    // um indice por grafo, refeito quando a versão do grafo muda
+    private static final Map<Graph, AltIndex> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final CsrGraph g;
+    private final int graphVersion;
+    private final int nodesNum;
+    private final int[] landmarks;
+    private final int[] fromLandmark; // fromLandmark[i * (n + 1) + v] = d(L_i, v)
+    private final int[] toLandmark;   // toLandmark[i * (n + 1) + v]   = d(v, L_i)
+
+    public Metrics metrics = new Metrics(); // tempo do pre-processamento
+
+    // ----- getters -----
+    public int[] getLandmarks() { return landmarks.clone(); }
+    public int getGraphVersion() { return graphVersion; }
+
+    // ----- indice do grafo (k landmarks, seleção FARTHEST), construido uma vez por versão -----
+    public static AltIndex forGraph(Graph graph) {
+        synchronized (CACHE) {
+            AltIndex idx = CACHE.get(graph);
+            if (idx == null || idx.graphVersion != graph.getVersion()) {
+                idx = new AltIndex(graph, DEFAULT_LANDMARKS, Selection.FARTHEST);
+                CACHE.put(graph, idx);
+            }
+            return idx;
+        }
+    }
+
+    // ----- construtor: escolhe os landmarks e calcula as distancias -----
+    public AltIndex(Graph graph, int k, Selection selection) {
+        metrics.start();
+        this.g = graph.toCsr();
+        this.graphVersion = graph.getVersion();
+        this.nodesNum = g.getNodesNum();
+        int stride = nodesNum + 1;
+        k = Math.max(1, Math.min(k, nodesNum));
+
+        // a seleção precisa das distancias de ida dos landmarks ja escolhidos,
+        // então ela calcula fromLandmark; as de volta vão em paralelo no fim
+        int[] fwd = new int[k * stride];
+        ArrayList<Integer> chosen = (selection == Selection.AVOID)
+                ? selectAvoid(k, fwd)
+                : selectFarthest(k, fwd);
+
+        int count = chosen.size();
+        this.landmarks = new int[count];
+        for (int i = 0; i < count; i++) landmarks[i] = chosen.get(i);
+        this.fromLandmark = (count == k) ? fwd : Arrays.copyOf(fwd, count * stride);
+        this.toLandmark = new int[count * stride];
+
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int[] dist = new int[stride];
+            Dijkstra.settleAll(g, landmarks[i], true, dist, new int[stride], null);
+            System.arraycopy(dist, 0, toLandmark, i * stride, stride);
+        });
+        metrics.stop();
+    }
+
+    // ----- seleção farthest: cada landmark novo é o nó mais longe dos que ja existem -----
+    private ArrayList<Integer> selectFarthest(int k, int[] fwd) {
+        int stride = nodesNum + 1;
+        int[] dist = new int[stride];
+        int[] parent = new int[stride];
+        int[] minDist = new int[stride];
+        Arrays.fill(minDist, Integer.MAX_VALUE);
+
+        // primeiro landmark: o mais distante do nó 1
+        Dijkstra.settleAll(g, 1, false, dist, parent, null);
+        int next = farthest(dist, null);
+
+        ArrayList<Integer> chosen = new ArrayList<>();
+        while (next != -1 && chosen.size() < k) {
+            int i = chosen.size();
+            chosen.add(next);
+            Dijkstra.settleAll(g, next, false, dist, parent, null);
+            System.arraycopy(dist, 0, fwd, i * stride, stride);
+            for (int v = 1; v <= nodesNum; v++) minDist[v] = Math.min(minDist[v], dist[v]);
+            minDist[next] = 0;
+            next = farthest(minDist, chosen);
+        }
+        return chosen;
+    }
+
+    // nó alcançado com maior distancia; se sobrou nó que ninguem alcança, ele vem primeiro
+    private int farthest(int[] dist, ArrayList<Integer> exclude) {
+        int best = -1;
+        long bestDist = -1;
+        for (int v = 1; v <= nodesNum; v++) {
+            if (exclude != null && exclude.contains(v)) continue;
+            if (g.outDegree(v) == 0 && g.inDegree(v) == 0) continue; // nó isolado não ajuda
+            long d = dist[v] == Integer.MAX_VALUE ? Long.MAX_VALUE : dist[v];
+            if (d > bestDist) {
+                bestDist = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    // ----- seleção avoid (Goldberg-Werneck): desce na arvore de caminhos minimos de uma raiz
+    // aleatoria pelo filho cuja subarvore tem o pior limite inferior, e para numa folha -----
+    private ArrayList<Integer> selectAvoid(int k, int[] fwd) {
+        int stride = nodesNum + 1;
+        int[] dist = new int[stride];
+        int[] parent = new int[stride];
+        int[] order = new int[stride];
+        long[] size = new long[stride];
+        boolean[] hasLandmark = new boolean[stride];
+        Random random = new Random(nodesNum); // determinístico por grafo
+
+        ArrayList<Integer> chosen = new ArrayList<>();
+
+        // o primeiro landmark sai do farthest
+        Dijkstra.settleAll(g, 1, false, dist, parent, null);
+        int first = farthest(dist, null);
+        if (first == -1) return chosen;
+        chosen.add(first);
+        Dijkstra.settleAll(g, first, false, dist, parent, null);
+        System.arraycopy(dist, 0, fwd, 0, stride);
+
+        int attempts = 0;
+        while (chosen.size() < k && attempts++ < 4 * k) {
+            int root = 1 + random.nextInt(nodesNum);
+            int reached = Dijkstra.settleAll(g, root, false, dist, parent, order);
+            if (reached < 2) continue;
+
+            // tamanho da subarvore = soma de (d(r,v) - limite inferior de d(r,v)), de baixo pra cima
+            Arrays.fill(size, 0);
+            Arrays.fill(hasLandmark, false);
+            for (int lm : chosen) hasLandmark[lm] = true;
+            for (int i = reached - 1; i >= 0; i--) {
+                int v = order[i];
+                if (!hasLandmark[v]) size[v] += dist[v] - lowerBound(root, v, chosen.size(), fwd);
+                else size[v] = 0;
+                int p = parent[v];
+                if (v != root) {
+                    if (hasLandmark[v]) hasLandmark[p] = true;
+                    if (!hasLandmark[p]) size[p] += size[v];
+                }
+            }
+
+            // desce pelo filho mais pesado ate uma folha (subarvore com landmark vale 0)
+            int curr = root;
+            while (true) {
+                int bestChild = -1;
+                for (int k2 = g.outBegin(curr); k2 < g.outEnd(curr); k2++) {
+                    int c = g.target(k2);
+                    if (parent[c] != curr || c == root || hasLandmark[c]) continue;
+                    if (bestChild == -1 || size[c] > size[bestChild]) bestChild = c;
+                }
+                if (bestChild == -1 || size[bestChild] == 0) break;
+                curr = bestChild;
+            }
+            if (chosen.contains(curr)) continue;
+
+            int i = chosen.size();
+            chosen.add(curr);
+            int[] lmDist = new int[stride];
+            Dijkstra.settleAll(g, curr, false, lmDist, new int[stride], null);
+            System.arraycopy(lmDist, 0, fwd, i * stride, stride);
+        }
+        return chosen;
+    }
+
+    // limite inferior de d(s, v) usando so as distancias de ida (durante a seleção)
+    private int lowerBound(int s, int v, int count, int[] fwd) {
+        int stride = nodesNum + 1;
+        int best = 0;
+        for (int i = 0; i < count; i++) {
+            int ls = fwd[i * stride + s];
+            int lv = fwd[i * stride + v];
+            if (ls != Integer.MAX_VALUE && lv != Integer.MAX_VALUE) best = Math.max(best, lv - ls);
+        }
+        return best;
+    }
+
+    // ----- potencial do A*: limite inferior de d(v, target) -----
+    private int potential(int v, int target) {
+        int stride = nodesNum + 1;
+        int best = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            int base = i * stride;
+            int lt = fromLandmark[base + target], lv = fromLandmark[base + v];
+            if (lt != Integer.MAX_VALUE && lv != Integer.MAX_VALUE && lt - lv > best) best = lt - lv;
+            int vl = toLandmark[base + v], tl = toLandmark[base + target];
+            if (vl != Integer.MAX_VALUE && tl != Integer.MAX_VALUE && vl - tl > best) best = vl - tl;
+        }
+        return best;
+    }
+
+    // ----- consulta: A* com os landmarks, para quando o target sai do heap -----
+    // mesmo custo do Dijkstra.findPathToTarget; metrics.iterations = nós assentados
+    public PathResult findPath(int origin, int target) {
+        Metrics m = new Metrics();
+        m.start();
+
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(nodesNum);
+        IndexedDaryHeap heap = ws.heap();
+
+        ws.set(origin, 0, origin);
+        heap.insertOrDecrease(origin, IndexedDaryHeap.key(potential(origin, target), origin));
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            m.sumIteration(1);
+            if (u == target) break;
+            int du = ws.dist(u);
+
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                int dv = du + g.weight(k);
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv + potential(v, target), v));
+                }
+            }
+        }
+
+        PathResult result = Dijkstra.buildPath(ws, origin, target);
+        m.stop();
+        result.metrics = m;
+        return result;
+    }
+}
@@ -10,18 +10,18 @@ package src.Algorithms;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Ant {
 
     private final int numCities;
-    private final Random random;
+    private final RandomGenerator random; // fluxo proprio da formiga (AntColony da um split por formiga)
 
     protected List<Integer> tour;
     protected List<Integer> unvisited;
     protected double tourLength;
 
-    public Ant(int numCities, Random random) {
+    public Ant(int numCities, RandomGenerator random) {
         this.numCities = numCities;
         this.random = random;
         this.tour = new ArrayList<>();
@@ -44,7 +44,7 @@ public class Ant {
     }
 
     // Construção de caminho completa
-    public void constructTour(double[][] pheromone, double[][] distance, double alpha, double beta) {
+    public void constructTour(double[][] pheromone, DistanceMatrix distance, double alpha, double beta) {
         while (!unvisited.isEmpty()) {
             int current = tour.get(tour.size() - 1);
             int next = selectNextCity(current, pheromone, distance, alpha, beta);
@@ -59,7 +59,7 @@ public class Ant {
 
     public int selectNextCity(int currentCity,
                               double[][] pheromone,
-                              double[][] distance,
+                              DistanceMatrix distance,
                               double alpha,
                               double beta) {
 
@@ -68,7 +68,7 @@ public class Ant {
 
         for (int j : unvisited) {
             double tau = Math.pow(pheromone[currentCity][j], alpha);
-            double eta = Math.pow(1.0 / distance[currentCity][j], beta);
+            double eta = Math.pow(1.0 / distance.distance(currentCity, j), beta);
             probs[j] = tau * eta;
             sum += probs[j];
         }
@@ -94,7 +94,7 @@ public class Ant {
         return tour.size() == numCities + 1;
     }
 
-    public void moveOneStep(double[][] pheromone, double[][] distance, double alpha, double beta) {
+    public void moveOneStep(double[][] pheromone, DistanceMatrix distance, double alpha, double beta) {
 
         if (tour.size() == numCities) {
             tour.add(tour.get(0));
@@ -117,11 +117,11 @@ public class Ant {
 
     // ---------------------- Cálculo de custo ----------------------
 
-    public void calculateTourLength(double[][] distance) {
+    public void calculateTourLength(DistanceMatrix distance) {
         double sum = 0;
 
         for (int i = 0; i < tour.size() - 1; i++) {
-            sum += distance[tour.get(i)][tour.get(i + 1)];
+            sum += distance.distance(tour.get(i), tour.get(i + 1));
         }
 
         this.tourLength = sum;
@@ -2,13 +2,18 @@
  * Autor: Cristopher Resende
  * Data: 21/11/2025
  * Descrição: Colônia de Formigas para o Problema do Caixeiro Viajante
+ * no solveInstant as formigas de uma iteração são construidas em paralelo (ForkJoinPool);
+ * cada formiga recebe um split do SplittableRandom da colonia, feito em ordem antes de
+ * disparar as tarefas, então com a mesma semente o resultado é o mesmo com qualquer numero de threads
  */
 
 package src.Algorithms;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import src.Core.Edge;
 import src.Core.Graph;
 
@@ -26,10 +31,11 @@ public class AntColony {
     private static final int MAX_STAGNATION_ITERATIONS = 30;
     private int stagnationCounter = 0;
 
-    private final double[][] distanceMatrix;
+    private final DistanceMatrix distanceMatrix;
     private double[][] pheromoneMatrix;
     private Ant bestAntEver;
-    private final Random random;
+    private SplittableRandom random;
+    private int threads = Runtime.getRuntime().availableProcessors();
 
     public Metrics metrics = new Metrics();
 
@@ -40,6 +46,12 @@ public class AntColony {
 
     // ----- construtor -----
     public AntColony(Graph graph, int numIterations, double alpha, double beta, double rho, double Q, double initialPheromone) {
+        this(graph, null, numIterations, alpha, beta, rho, Q, initialPheromone);
+    }
+
+    // distancias de uma matriz pronta (ex.: MappedDistanceMatrix) em vez da matriz das arestas
+    public AntColony(Graph graph, DistanceMatrix distances, int numIterations, double alpha, double beta, double rho,
+                     double Q, double initialPheromone) {
         this.numCities = graph.getNodesNum();
         this.numAnts = numCities;
         this.numIterations = numIterations;
@@ -48,9 +60,9 @@ public class AntColony {
         this.rho = rho;
         this.Q = Q;
         this.initialPheromone = initialPheromone;
-        this.random = new Random();
+        this.random = new SplittableRandom();
 
-        this.distanceMatrix = initializeDistanceMatrix(graph);
+        this.distanceMatrix = distances != null ? distances : initializeDistanceMatrix(graph);
         this.pheromoneMatrix = initializePheromoneMatrix(numCities, initialPheromone);
         this.bestAntEver = null;
 
@@ -59,6 +71,15 @@ public class AntColony {
         initializeAnts();
     }
 
+    // ----- semente (reprodutivel) e numero de threads da construção -----
+    // reinicia as formigas da animação com a nova semente
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+        initializeAnts();
+    }
+
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+
     // ----- Getters -----
     public List<Ant> getAnts() {
         return this.ants;
@@ -127,51 +148,49 @@ public class AntColony {
         double lastBestLength = Double.MAX_VALUE;
 
         List<Ant> ants = null;
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
 
-        for (int t = 1; t <= numIterations; t++) {
-
-            metrics.sumIteration(1);
-
-            ants = new ArrayList<>(numAnts);
-            Ant bestAntThisIteration = null;
-
-            for (int k = 0; k < numAnts; k++) {
-                metrics.sumOperation(1);
+        try {
+            for (int t = 1; t <= numIterations; t++) {
 
-                Ant a = new Ant(numCities, random);
-                a.startTourRandomly();
-                a.constructTour(pheromoneMatrix, distanceMatrix, alpha, beta);
-                a.calculateTourLength(distanceMatrix);
+                metrics.sumIteration(1);
+                metrics.sumOperation(numAnts);
 
-                ants.add(a);
+                ants = constructAnts(pool);
+                Ant bestAntThisIteration = null;
 
-                if (bestAntThisIteration == null || a.getTourLength() < bestAntThisIteration.getTourLength()) {
-                    bestAntThisIteration = a;
+                // em ordem de indice: empate fica com a primeira formiga, como no laço sequencial
+                for (Ant a : ants) {
+                    if (bestAntThisIteration == null || a.getTourLength() < bestAntThisIteration.getTourLength()) {
+                        bestAntThisIteration = a;
+                    }
                 }
-            }
 
-            if (bestAntEver == null || bestAntThisIteration.getTourLength() < bestAntEver.getTourLength()) {
-                bestAntEver = bestAntThisIteration.copy();
-                stagnationCounter = 0;
-                lastBestLength = bestAntEver.getTourLength();
-                improved = true;
-            } else {
-                stagnationCounter++;
-                improved = false;
-            }
+                if (bestAntEver == null || bestAntThisIteration.getTourLength() < bestAntEver.getTourLength()) {
+                    bestAntEver = bestAntThisIteration.copy();
+                    stagnationCounter = 0;
+                    lastBestLength = bestAntEver.getTourLength();
+                    improved = true;
+                } else {
+                    stagnationCounter++;
+                    improved = false;
+                }
 
-            if (stagnationCounter >= MAX_STAGNATION_ITERATIONS) {
-                System.out.printf("[AOC] Parada por Estagnação na Iteração %d (Não melhorou por %d iterações)\n",
-                        t, MAX_STAGNATION_ITERATIONS);
-                break;
-            }
+                if (stagnationCounter >= MAX_STAGNATION_ITERATIONS) {
+                    System.out.printf("[AOC] Parada por Estagnação na Iteração %d (Não melhorou por %d iterações)\n",
+                            t, MAX_STAGNATION_ITERATIONS);
+                    break;
+                }
 
-            updatePheromones(ants);
+                updatePheromones(ants);
 
-            if(improved){
-                System.out.printf("[AOC] Iteração %d | Melhor = %.2f\n",
-                        t, bestAntEver.getTourLength());
+                if(improved){
+                    System.out.printf("[AOC] Iteração %d | Melhor = %.2f\n",
+                            t, bestAntEver.getTourLength());
+                }
             }
+        } finally {
+            if (pool != null) pool.shutdown();
         }
 
         updatePheromones(ants);
@@ -182,26 +201,77 @@ public class AntColony {
         return bestAntEver.getTour();
     }
 
+    // ----- constroi as formigas de uma iteração -----
+    // os splits saem em ordem aqui; as formigas so leem feromonio e distancias, e o join é a
+    // barreira antes do updatePheromones
+    private List<Ant> constructAnts(ForkJoinPool pool) {
+        Ant[] built = new Ant[numAnts];
+        for (int k = 0; k < numAnts; k++) built[k] = new Ant(numCities, random.split());
+
+        if (pool == null) {
+            for (Ant a : built) construct(a);
+        } else {
+            pool.submit(() -> IntStream.range(0, numAnts).parallel().forEach(k -> construct(built[k]))).join();
+        }
+        return new ArrayList<>(List.of(built));
+    }
+
+    private void construct(Ant a) {
+        a.startTourRandomly();
+        a.constructTour(pheromoneMatrix, distanceMatrix, alpha, beta);
+        a.calculateTourLength(distanceMatrix);
+    }
+
     // ----- cria e retorna matriz de distancia -----
-    private double[][] initializeDistanceMatrix(Graph graph) {
-        double[][] matrix = new double[numCities + 1][numCities + 1];
+    // simetrica, a ultima aresta entre dois nós vale, 0 onde não tem aresta
+    private DistanceMatrix initializeDistanceMatrix(Graph graph) {
+        EdgeMatrix matrix = new EdgeMatrix(numCities);
 
         for (Edge edge : graph.getEdges()) {
             int u = edge.getNode1();
             int v = edge.getNode2();
-            double weight = edge.getWeight();
+            int weight = edge.getWeight();
 
-            matrix[u][v] = weight;
-            matrix[v][u] = weight;
+            matrix.set(u, v, weight);
+            matrix.set(v, u, weight);
         }
         return matrix;
     }
 
+    // matriz das arestas num vetor plano (n + 1) x (n + 1)
+    // como (n + 1)^2 cabe em int, u * (n + 1) + v tambem cabe (e menor que o tamanho)
+    private static final class EdgeMatrix implements DistanceMatrix {
+        private final int n;
+        private final int[] weights;
+
+        EdgeMatrix(int n) {
+            this.n = n;
+            this.weights = new int[size(n)];
+        }
+
+        private static int size(int n) {
+            try {
+                return Math.multiplyExact(n + 1, n + 1);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Matriz de distancias " + n + "x" + n
+                        + " grande demais para a memoria, passe uma MappedDistanceMatrix", e);
+            }
+        }
+
+        void set(int u, int v, int w) { weights[u * (n + 1) + v] = w; }
+
+        @Override
+        public int getNodesNum() { return n; }
+
+        @Override
+        public int distance(int u, int v) { return weights[u * (n + 1) + v]; }
+    }
+
     // ----- Inicializa as formigas -----
     public void initializeAnts() {
         ants.clear();
         for (int k = 0; k < numAnts; k++) {
-            Ant ant = new Ant(numCities, random);
+            Ant ant = new Ant(numCities, random.split());
             ant.startTourRandomly();
             ants.add(ant);
         }
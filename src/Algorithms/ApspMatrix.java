@@ -0,0 +1,52 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: matriz de caminhos minimos entre todos os pares, em vetores planos
+ * dist[(u - 1) * n + (v - 1)] = custo, next[...] = primeiro nó depois de u no caminho ate v
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import src.Core.Graph;
+
+public class ApspMatrix implements DistanceMatrix {
+
+    private final int nodesNum;
+    private final int[] dist;
+    private final int[] next; // -1 = sem caminho
+
+    public Metrics metrics = new Metrics(); // tempo do calculo
+
+    public ApspMatrix(int nodesNum, int[] dist, int[] next) {
+        this.nodesNum = nodesNum;
+        this.dist = dist;
+        this.next = next;
+    }
+
+    // ----- getters -----
+    @Override
+    public int getNodesNum() { return nodesNum; }
+
+    @Override
+    public int distance(int u, int v) { return dist[(u - 1) * nodesNum + (v - 1)]; }
+
+    public int nextHop(int u, int v) { return next[(u - 1) * nodesNum + (v - 1)]; }
+
+    // vetor de distancias cru (linha u - 1, coluna v - 1), sem copia
+    int[] rawDistances() { return dist; }
+
+    // ----- caminho u -> v seguindo os next-hops -----
+    public PathResult path(int u, int v) {
+        if (distance(u, v) >= Graph.INF) return new PathResult(null, -1);
+
+        ArrayList<Integer> path = new ArrayList<>();
+        path.add(u);
+        for (int curr = u; curr != v; ) {
+            curr = nextHop(curr, v);
+            path.add(curr);
+            if (path.size() > nodesNum + 1) return new PathResult(null, -1); // ciclo negativo
+        }
+        return new PathResult(path, distance(u, v));
+    }
+}
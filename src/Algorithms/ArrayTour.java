@@ -0,0 +1,114 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: ciclo do caixeiro em vetor com indice de posição, usado pelas buscas locais
+ * tour[i] = cidade na posição i, pos[cidade] = i (-1 fora do ciclo). inverter o caminho
+ * entre duas posições vai pelo lado mais curto: inverter o resto do ciclo da o mesmo ciclo,
+ * so que no outro sentido
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import src.Core.Graph;
+
+final class ArrayTour {
+
+    final int n;
+    final int[] tour;
+    final int[] pos;
+
+    // ciclo fechado (ultimo = primeiro)
+    ArrayTour(List<Integer> cycle) {
+        n = cycle.size() - 1;
+        int maxCity = 0;
+        for (int c : cycle) maxCity = Math.max(maxCity, c);
+        tour = new int[n];
+        pos = new int[maxCity + 1];
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < n; i++) {
+            tour[i] = cycle.get(i);
+            pos[tour[i]] = i;
+        }
+    }
+
+    int maxCity() { return pos.length - 1; }
+    boolean contains(int c) { return c < pos.length && pos[c] != -1; }
+
+    int succ(int c) { int i = pos[c] + 1; return tour[i == n ? 0 : i]; }
+    int pred(int c) { int i = pos[c]; return tour[i == 0 ? n - 1 : i - 1]; }
+
+    // ----- custo do ciclo (Graph.INF se alguma aresta falta) -----
+    int length(IntBinaryOperator cost) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += cost.applyAsInt(tour[i], tour[i + 1 == n ? 0 : i + 1]);
+        return sum >= Graph.INF ? Graph.INF : (int) sum;
+    }
+
+    // ----- ciclo fechado começando pela cidade first -----
+    List<Integer> toCycle(int first) {
+        int shift = pos[first];
+        List<Integer> path = new ArrayList<>(n + 1);
+        for (int i = 0; i <= n; i++) path.add(tour[(shift + i) % n]);
+        return path;
+    }
+
+    void copyFrom(int[] order) {
+        for (int i = 0; i < n; i++) {
+            tour[i] = order[i];
+            pos[order[i]] = i;
+        }
+    }
+
+    // ----- 2-opt: tira (a, b) e (c, d), põe (b, c) e (a, d) -----
+    // b vizinho de a e d vizinho de c do mesmo lado: se b = succ(a) então d = pred(c), senão d = succ(c)
+    void move(int a, int b, int c, int d) {
+        if (succ(a) == b) reversePath(pos[b], pos[d]);
+        else reversePath(pos[d], pos[b]);
+    }
+
+    // ----- inverte o caminho da posição i ate a j (para frente), pelo lado mais curto -----
+    void reversePath(int i, int j) {
+        int len = (j - i + n) % n + 1;
+        if (2 * len > n) reverse((j + 1) % n, n - len);
+        else reverse(i, len);
+    }
+
+    // ----- move o trecho [i, i + len) para logo depois da cidade after (invertido ou não) -----
+    // gira o trecho com o lado mais curto do ciclo (entre o trecho e after, ou entre after e o trecho)
+    void moveSegment(int i, int len, int after, boolean reversed) {
+        int j = pos[after];
+        int lenX = (j - (i + len - 1) + n) % n; // de depois do trecho ate after
+        int lenY = n - len - lenX;              // de depois de after ate antes do trecho
+
+        if (lenX <= lenY) {
+            // [S X] -> [X S]
+            reverse(i, len + lenX);
+            reverse(i, lenX);
+            if (!reversed) reverse((i + lenX) % n, len);
+        } else {
+            // [Y S] -> [S Y], Y começa depois de after
+            int k = (j + 1) % n;
+            reverse(k, lenY + len);
+            reverse((k + len) % n, lenY);
+            if (!reversed) reverse(k, len);
+        }
+    }
+
+    // inverte len posições a partir de start (dando a volta no vetor)
+    void reverse(int start, int len) {
+        int a = start, b = (start + len - 1) % n;
+        for (int s = 0; s < len / 2; s++) {
+            int ca = tour[a], cb = tour[b];
+            tour[a] = cb;
+            pos[cb] = a;
+            tour[b] = ca;
+            pos[ca] = b;
+            a = a + 1 == n ? 0 : a + 1;
+            b = b == 0 ? n - 1 : b - 1;
+        }
+    }
+}
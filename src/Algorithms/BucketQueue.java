@@ -0,0 +1,55 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: fila de baldes circular (Dial) para pesos inteiros pequenos
+ * o balde de distancia d é buckets[d % numBuckets]; com peso maximo C so existem C + 1
+ * distancias vivas ao mesmo tempo, então C + 1 baldes bastam. remoção preguiçosa:
+ * quem melhora a distancia entra de novo e a entrada velha é ignorada na hora de sair
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+
+public final class BucketQueue {
+
+    private int[][] buckets = new int[0][];
+    private int[] sizes = new int[0];
+    private int numBuckets;
+    private int count;     // entradas em todos os baldes (inclusive as velhas)
+
+    // ----- esvazia e prepara para pesos ate maxWeight -----
+    public void reset(int maxWeight) {
+        int needed = maxWeight + 1;
+        if (needed > buckets.length) {
+            int old = buckets.length;
+            buckets = Arrays.copyOf(buckets, needed);
+            sizes = Arrays.copyOf(sizes, needed);
+            for (int i = old; i < needed; i++) buckets[i] = new int[8];
+        }
+        Arrays.fill(sizes, 0, Math.max(numBuckets, needed), 0);
+        numBuckets = needed;
+        count = 0;
+    }
+
+    // ----- getters -----
+    public boolean isEmpty() { return count == 0; }
+    public int numBuckets() { return numBuckets; }
+    public int size(int dist) { return sizes[dist % numBuckets]; }
+
+    // ----- coloca o nó no balde da distancia dist -----
+    public void add(int dist, int node) {
+        int b = dist % numBuckets;
+        int[] bucket = buckets[b];
+        if (sizes[b] == bucket.length) buckets[b] = bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        bucket[sizes[b]++] = node;
+        count++;
+    }
+
+    // ----- tira um nó qualquer do balde da distancia dist (o balde não pode estar vazio) -----
+    public int poll(int dist) {
+        int b = dist % numBuckets;
+        count--;
+        return buckets[b][--sizes[b]];
+    }
+}
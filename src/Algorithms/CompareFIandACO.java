@@ -20,20 +20,28 @@ public class CompareFIandACO {
         // FARHEST INSERTION (FI)
         // -----------------------------
         double[] fiTimes = new double[runs];
+        double[] fiSeqTimes = new double[runs]; // mesma heuristica sem as varreduras paralelas
 
         for (int i = 0; i < runs; i++) {
             FarthestInsertion fi = new FarthestInsertion(graph);
             fi.findHamiltonianCycle();
             fiTimes[i] = fi.metrics.getElapsedMillis();
             total = fi.getTotalCost();
+
+            FarthestInsertion seq = new FarthestInsertion(graph);
+            seq.setParallelThreshold(Integer.MAX_VALUE);
+            seq.findHamiltonianCycle();
+            fiSeqTimes[i] = seq.metrics.getElapsedMillis();
         }
 
         double fiAvg = average(fiTimes);
+        double fiSeqAvg = average(fiSeqTimes);
 
         System.out.println("====================================");
         System.out.println(" FARTHEST INSERTION AVERAGE");
         System.out.println(" Total Cost: " + total + " ms");
         System.out.println(" Average: " + fiAvg + " ms");
+        System.out.println(" Sequential: " + fiSeqAvg + " ms (speedup " + String.format("%.2f", fiSeqAvg / fiAvg) + "x)");
         System.out.println("====================================");
 
 
@@ -72,6 +80,7 @@ public class CompareFIandACO {
         System.out.println(" FARTHEST INSERTION AVERAGE");
         System.out.println(" Total Cost: " + total + " ms");
         System.out.println(" Average: " + fiAvg + " ms");
+        System.out.println(" Sequential: " + fiSeqAvg + " ms (speedup " + String.format("%.2f", fiSeqAvg / fiAvg) + "x)");
         System.out.println("====================================");
         System.out.println("////////////////////////////////////");
         System.out.println("====================================");
@@ -0,0 +1,427 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: Contraction Hierarchies (CH) para consultas de caminho minimo muito rapidas
+ * pre-processamento: contrai os nós um a um (ordem pela diferença de arestas), criando atalhos
+ * quando a busca de testemunha não acha caminho alternativo.
+ * consulta: Dijkstra bidirecional que so sobe na hierarquia; os atalhos são desempacotados
+ * no fim para devolver o caminho original no PathResult
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class ContractionHierarchy {
+
+    // limites da busca de testemunha: se estourar, o atalho é criado (sempre correto).
+    // a simulação que so calcula a prioridade usa limites menores (nós assentados e saltos)
+    public static final int WITNESS_SETTLE_LIMIT = 500;
+    public static final int WITNESS_HOP_LIMIT = Integer.MAX_VALUE;
+    public static final int SIMULATION_SETTLE_LIMIT = 50;
+    public static final int SIMULATION_HOP_LIMIT = 2;
+
+    private static final Map<Graph, ContractionHierarchy> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int nodesNum;
+    private final int graphVersion;
+    private final int[] rank;       // posição do nó na ordem de contração
+    private int shortcuts;
+
+    // grafo de subida para frente: arestas u->v com rank[v] > rank[u]
+    private int[] upOffsets, upTargets, upWeights, upMids;
+    // grafo de subida para tras: arestas u->v com rank[u] > rank[v], guardadas em v
+    private int[] downOffsets, downSources, downWeights, downMids;
+
+    public Metrics metrics = new Metrics(); // tempo do pre-processamento
+
+    // ----- getters -----
+    public int getShortcuts() { return shortcuts; }
+    public int getRank(int node) { return rank[node]; }
+    public int getGraphVersion() { return graphVersion; }
+    public int getNodesNum() { return nodesNum; }
+
+    // ----- hierarquia do grafo, construida uma vez por versão -----
+    public static ContractionHierarchy forGraph(Graph graph) {
+        synchronized (CACHE) {
+            ContractionHierarchy ch = CACHE.get(graph);
+            if (ch == null || ch.graphVersion != graph.getVersion()) {
+                ch = new ContractionHierarchy(graph);
+                CACHE.put(graph, ch);
+            }
+            return ch;
+        }
+    }
+
+    // ===================== PRE-PROCESSAMENTO =====================
+
+    // lista de adjacencia que muda durante a contração (vetores primitivos que crescem)
+    private static final class Adj {
+        int[] node = new int[4];
+        int[] weight = new int[4];
+        int[] mid = new int[4];   // nó contraido que o atalho pula, -1 = aresta original
+        int size = 0;
+
+        int find(int v) {
+            for (int i = 0; i < size; i++) if (node[i] == v) return i;
+            return -1;
+        }
+
+        // mantem so a menor aresta entre o mesmo par
+        void put(int v, int w, int m) {
+            int i = find(v);
+            if (i >= 0) {
+                if (w < weight[i]) {
+                    weight[i] = w;
+                    mid[i] = m;
+                }
+                return;
+            }
+            if (size == node.length) {
+                node = Arrays.copyOf(node, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+                mid = Arrays.copyOf(mid, size * 2);
+            }
+            node[size] = v;
+            weight[size] = w;
+            mid[size] = m;
+            size++;
+        }
+
+        void remove(int v) {
+            int i = find(v);
+            if (i < 0) return;
+            size--;
+            node[i] = node[size];
+            weight[i] = weight[size];
+            mid[i] = mid[size];
+        }
+    }
+
+    private Adj[] out;
+    private Adj[] in;
+    private boolean[] contracted;
+    private boolean[] isTarget;
+    private int[] level;       // profundidade na hierarquia: espalha a contração pelo grafo
+    private int[] hops;        // saltos desde a origem da busca de testemunha
+
+    // ----- construtor: contrai o grafo inteiro -----
+    public ContractionHierarchy(Graph graph) {
+        metrics.start();
+        CsrGraph g = graph.toCsr();
+        this.nodesNum = g.getNodesNum();
+        this.graphVersion = graph.getVersion();
+        int n = nodesNum;
+
+        out = new Adj[n + 1];
+        in = new Adj[n + 1];
+        for (int v = 0; v <= n; v++) {
+            out[v] = new Adj();
+            in[v] = new Adj();
+        }
+        for (int u = 0; u <= n; u++) {
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (v == u) continue; // laço nunca esta num caminho minimo
+                out[u].put(v, g.weight(k), -1);
+                in[v].put(u, g.weight(k), -1);
+            }
+        }
+
+        contracted = new boolean[n + 1];
+        isTarget = new boolean[n + 1];
+        hops = new int[n + 1];
+        rank = new int[n + 1];
+        int[] deletedNeighbors = new int[n + 1];
+        level = new int[n + 1];
+
+        // arestas finais da hierarquia, separadas por nó de menor rank
+        Adj[] up = new Adj[n + 1];
+        Adj[] down = new Adj[n + 1];
+
+        // ordem inicial: prioridade de todos os nós
+        IndexedDaryHeap queue = new IndexedDaryHeap(n + 1);
+        for (int v = 0; v <= n; v++) {
+            queue.insertOrDecrease(v, IndexedDaryHeap.key(priority(v, deletedNeighbors), v));
+        }
+
+        int nextRank = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+
+            // atualização preguiçosa: se piorou, volta pra fila
+            int p = priority(v, deletedNeighbors);
+            if (!queue.isEmpty() && IndexedDaryHeap.key(p, v) > queue.peekKey()) {
+                queue.insertOrDecrease(v, IndexedDaryHeap.key(p, v));
+                continue;
+            }
+
+            // arestas de v para vizinhos ainda não contraidos sobem na hierarquia
+            up[v] = copy(out[v]);
+            down[v] = copy(in[v]);
+
+            contract(v, false);
+            contracted[v] = true;
+            rank[v] = nextRank++;
+
+            for (int i = 0; i < up[v].size; i++) {
+                int w = up[v].node[i];
+                in[w].remove(v);
+                deletedNeighbors[w]++;
+                level[w] = Math.max(level[w], level[v] + 1);
+            }
+            for (int i = 0; i < down[v].size; i++) {
+                int u = down[v].node[i];
+                out[u].remove(v);
+                deletedNeighbors[u]++;
+                level[u] = Math.max(level[u], level[v] + 1);
+            }
+            for (int i = 0; i < up[v].size; i++) {
+                int w = up[v].node[i];
+                queue.update(w, IndexedDaryHeap.key(priority(w, deletedNeighbors), w));
+            }
+            for (int i = 0; i < down[v].size; i++) {
+                int u = down[v].node[i];
+                queue.update(u, IndexedDaryHeap.key(priority(u, deletedNeighbors), u));
+            }
+        }
+
+        buildSearchGraphs(up, down);
+        out = null;
+        in = null;
+        contracted = null;
+        isTarget = null;
+        hops = null;
+        level = null;
+        metrics.stop();
+    }
+
+    private static Adj copy(Adj a) {
+        Adj c = new Adj();
+        c.node = Arrays.copyOf(a.node, Math.max(a.size, 1));
+        c.weight = Arrays.copyOf(a.weight, Math.max(a.size, 1));
+        c.mid = Arrays.copyOf(a.mid, Math.max(a.size, 1));
+        c.size = a.size;
+        return c;
+    }
+
+    // ----- prioridade: diferença de arestas + vizinhos ja contraidos -----
+    private int priority(int v, int[] deletedNeighbors) {
+        int added = contract(v, true);
+        return 2 * (added - (in[v].size + out[v].size)) + deletedNeighbors[v] + level[v];
+    }
+
+    // ----- contrai v (ou so conta os atalhos se dryRun) -----
+    private int contract(int v, boolean dryRun) {
+        int added = 0;
+        Adj ins = in[v];
+        Adj outs = out[v];
+        if (ins.size == 0 || outs.size == 0) return 0;
+
+        int maxOut = 0;
+        for (int j = 0; j < outs.size; j++) maxOut = Math.max(maxOut, outs.weight[j]);
+
+        // copia para não ser alterado pelos atalhos inseridos no meio do laço
+        int inSize = ins.size;
+        int[] inNode = Arrays.copyOf(ins.node, inSize);
+        int[] inWeight = Arrays.copyOf(ins.weight, inSize);
+        int outSize = outs.size;
+        int[] outNode = Arrays.copyOf(outs.node, outSize);
+        int[] outWeight = Arrays.copyOf(outs.weight, outSize);
+
+        for (int i = 0; i < inSize; i++) {
+            int u = inNode[i];
+            int limit = inWeight[i] + maxOut;
+            DijkstraWorkspace ws = dryRun
+                    ? witnessSearch(u, v, limit, outNode, outSize, SIMULATION_SETTLE_LIMIT, SIMULATION_HOP_LIMIT)
+                    : witnessSearch(u, v, limit, outNode, outSize, WITNESS_SETTLE_LIMIT, WITNESS_HOP_LIMIT);
+
+            for (int j = 0; j < outSize; j++) {
+                int w = outNode[j];
+                if (w == u) continue;
+                int viaV = inWeight[i] + outWeight[j];
+                if (ws.dist(w) <= viaV) continue; // achou testemunha
+
+                added++;
+                if (!dryRun) {
+                    out[u].put(w, viaV, v);
+                    in[w].put(u, viaV, v);
+                    shortcuts++;
+                }
+            }
+        }
+        return added;
+    }
+
+    // ----- Dijkstra local a partir de u ignorando v, ate a distancia limit -----
+    // para cedo quando todos os vizinhos de saida de v ja foram assentados
+    private DijkstraWorkspace witnessSearch(int u, int v, int limit, int[] targets, int targetsSize,
+                                            int settleLimit, int hopLimit) {
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(nodesNum);
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(u, 0, u);
+        hops[u] = 0;
+        heap.insertOrDecrease(u, IndexedDaryHeap.key(0, u));
+
+        for (int j = 0; j < targetsSize; j++) isTarget[targets[j]] = true;
+        int remaining = targetsSize;
+
+        int settled = 0;
+        while (!heap.isEmpty() && settled < settleLimit && remaining > 0) {
+            int x = heap.poll();
+            int dx = ws.dist(x);
+            if (dx > limit) break;
+            settled++;
+            if (isTarget[x]) remaining--;
+            if (hops[x] >= hopLimit) continue;
+
+            Adj a = out[x];
+            for (int k = 0; k < a.size; k++) {
+                int y = a.node[k];
+                if (y == v || contracted[y]) continue;
+                int dy = dx + a.weight[k];
+                if (dy <= limit && dy < ws.dist(y)) {
+                    ws.set(y, dy, x);
+                    hops[y] = hops[x] + 1;
+                    heap.insertOrDecrease(y, IndexedDaryHeap.key(dy, y));
+                }
+            }
+        }
+
+        for (int j = 0; j < targetsSize; j++) isTarget[targets[j]] = false;
+        return ws;
+    }
+
+    // ----- passa as arestas da hierarquia para CSR -----
+    private void buildSearchGraphs(Adj[] up, Adj[] down) {
+        int n = nodesNum;
+        upOffsets = new int[n + 2];
+        downOffsets = new int[n + 2];
+        for (int v = 0; v <= n; v++) {
+            upOffsets[v + 1] = upOffsets[v] + up[v].size;
+            downOffsets[v + 1] = downOffsets[v] + down[v].size;
+        }
+        upTargets = new int[upOffsets[n + 1]];
+        upWeights = new int[upOffsets[n + 1]];
+        upMids = new int[upOffsets[n + 1]];
+        downSources = new int[downOffsets[n + 1]];
+        downWeights = new int[downOffsets[n + 1]];
+        downMids = new int[downOffsets[n + 1]];
+        for (int v = 0; v <= n; v++) {
+            System.arraycopy(up[v].node, 0, upTargets, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].weight, 0, upWeights, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].mid, 0, upMids, upOffsets[v], up[v].size);
+            System.arraycopy(down[v].node, 0, downSources, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].weight, 0, downWeights, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].mid, 0, downMids, downOffsets[v], down[v].size);
+        }
+    }
+
+    // ===================== CONSULTA =====================
+
+    // ----- caminho minimo origin -> target; mesmo custo do Dijkstra.findPathToTarget -----
+    // metrics.iterations = nós assentados nas duas buscas de subida
+    public PathResult findPath(int origin, int target) {
+        Metrics m = new Metrics();
+        m.start();
+
+        DijkstraWorkspace fw = DijkstraWorkspace.acquire(nodesNum);
+        DijkstraWorkspace bw = DijkstraWorkspace.acquireBackward(nodesNum);
+        IndexedDaryHeap fHeap = fw.heap();
+        IndexedDaryHeap bHeap = bw.heap();
+
+        fw.set(origin, 0, origin);
+        fHeap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+        bw.set(target, 0, target);
+        bHeap.insertOrDecrease(target, IndexedDaryHeap.key(0, target));
+
+        long best = Long.MAX_VALUE;
+        int meet = -1;
+
+        // cada lado so para quando o topo passa do melhor encontrado
+        while (!fHeap.isEmpty() || !bHeap.isEmpty()) {
+            boolean forward;
+            if (fHeap.isEmpty()) forward = false;
+            else if (bHeap.isEmpty()) forward = true;
+            else forward = fHeap.peekKey() <= bHeap.peekKey();
+
+            IndexedDaryHeap heap = forward ? fHeap : bHeap;
+            if ((heap.peekKey() >> 32) >= best) {
+                heap.clear();
+                continue;
+            }
+
+            DijkstraWorkspace ws = forward ? fw : bw;
+            DijkstraWorkspace other = forward ? bw : fw;
+            int u = heap.poll();
+            int du = ws.dist(u);
+            m.sumIteration(1);
+
+            if (other.isReached(u) && (long) du + other.dist(u) < best) {
+                best = (long) du + other.dist(u);
+                meet = u;
+            }
+
+            int begin = forward ? upOffsets[u] : downOffsets[u];
+            int end = forward ? upOffsets[u + 1] : downOffsets[u + 1];
+            for (int k = begin; k < end; k++) {
+                int v = forward ? upTargets[k] : downSources[k];
+                int dv = du + (forward ? upWeights[k] : downWeights[k]);
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                }
+            }
+        }
+
+        if (meet == -1) {
+            m.stop();
+            return new PathResult(null, -1, m);
+        }
+
+        // sobe pelos pais dos dois lados e desempacota os atalhos
+        ArrayList<Integer> up = new ArrayList<>();
+        for (int curr = meet; curr != origin; curr = fw.parent(curr)) up.add(curr);
+        up.add(origin);
+        Collections.reverse(up);
+
+        ArrayList<Integer> path = new ArrayList<>();
+        path.add(origin);
+        for (int i = 0; i + 1 < up.size(); i++) unpack(up.get(i), up.get(i + 1), path);
+        for (int curr = meet; curr != target; curr = bw.parent(curr)) unpack(curr, bw.parent(curr), path);
+
+        m.stop();
+        return new PathResult(path, (int) best, m);
+    }
+
+    // ----- adiciona ao caminho os nós de u->v (sem u), abrindo atalhos recursivamente -----
+    private void unpack(int u, int v, ArrayList<Integer> path) {
+        int mid = midOf(u, v);
+        if (mid == -1) {
+            path.add(v);
+            return;
+        }
+        unpack(u, mid, path);
+        unpack(mid, v, path);
+    }
+
+    // a aresta u->v esta em up[u] se u tem rank menor, senão em down[v]
+    private int midOf(int u, int v) {
+        if (rank[u] < rank[v]) {
+            for (int k = upOffsets[u]; k < upOffsets[u + 1]; k++) {
+                if (upTargets[k] == v) return upMids[k];
+            }
+        } else {
+            for (int k = downOffsets[v]; k < downOffsets[v + 1]; k++) {
+                if (downSources[k] == u) return downMids[k];
+            }
+        }
+        throw new IllegalStateException("aresta " + u + " -> " + v + " não esta na hierarquia");
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: Customizable Route Planning (Delling et al.) com dois niveis de overlay
+ * pre-processamento (so topologia, feito uma vez): divide os nós em celulas pequenas (nivel 1)
+ * e junta celulas vizinhas em grupos (nivel 2); acha as bordas de cada celula e de cada grupo
+ * (nó com aresta pra fora dela / dele). toda borda de grupo é borda de celula.
+ * customização (pesos, refeita quando eles mudam): para cada celula, a distancia de cada
+ * borda ate cada outra borda andando so dentro dela (clique); depois a clique de cada grupo,
+ * andando pelas cliques das celulas dele e pelas arestas entre elas. cada nivel em paralelo.
+ * consulta: Dijkstra que usa as arestas normais nas celulas da origem e do destino, as
+ * cliques de celula no resto dos grupos da origem e do destino e, longe deles, so as cliques
+ * de grupo e as arestas entre grupos. se as cliques de grupo ficariam maiores que as de
+ * celula (grafo sem estrutura de estrada) o nivel 2 é deixado de lado.
+ * o grafo (lista de arestas) continua sendo a fonte dos pesos: a customização le o CSR atual.
+ * cada customização monta cliques novas e publica (CSR, cliques, versão) de uma vez num
+ * campo volatile; a consulta le essa foto uma vez so, então uma consulta em andamento não
+ * mistura pesos velhos e novos enquanto outra thread recustomiza
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class CrpOverlay {
+
+    public static final int DEFAULT_CELL_SIZE = 512;
+    public static final int DEFAULT_CELLS_PER_GROUP = 32; // grupo do nivel 2 ~ 16k nós
+
+    private static final Map<Graph, CrpOverlay> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Graph graph;
+    private final int nodesNum;
+    private final int topologyVersion;
+    private volatile Customization current; // ultima customização publicada (null antes da primeira)
+
+    // partição: nós da celula c em cellNodes[cellOffsets[c] .. cellOffsets[c + 1])
+    private final int cellCount;
+    private final int[] cellOf;
+    private final int[] cellOffsets, cellNodes;
+
+    // bordas da celula c em boundary[boundaryOffsets[c] .. boundaryOffsets[c + 1])
+    private final int[] boundaryOffsets, boundary;
+    private final int[] boundaryIndex; // posição do nó entre as bordas da celula dele, -1 se não é borda
+
+    // clique da celula c: linha i, coluna j em clique[cliqueOffsets[c] + i * b + j] (b = bordas de c)
+    private final int[] cliqueOffsets;
+
+    // nivel 2: grupo de cada celula, bordas do grupo g em boundary2[boundary2Offsets[g] ..)
+    // e clique do grupo em clique2[clique2Offsets[g] + i * b + j], como no nivel 1
+    private final boolean twoLevels;
+    private final int groupCount;
+    private final int[] groupOf;
+    private final int[] boundary2Offsets, boundary2;
+    private final int[] boundary2Index;
+    private final int[] clique2Offsets;
+
+    public Metrics metrics = new Metrics();          // pre-processamento (topologia)
+    public volatile Metrics customization = new Metrics(); // ultima customização
+
+    // ----- overlay do grafo: refeito se a topologia mudou, recustomizado se so os pesos mudaram -----
+    public static CrpOverlay forGraph(Graph graph) {
+        synchronized (CACHE) {
+            CrpOverlay overlay = CACHE.get(graph);
+            if (overlay == null || overlay.topologyVersion != graph.getTopologyVersion()) {
+                overlay = new CrpOverlay(graph, DEFAULT_CELL_SIZE);
+                CACHE.put(graph, overlay);
+            }
+            overlay.ensureCustomized();
+            return overlay;
+        }
+    }
+
+    // ----- pre-processamento: partição e bordas (não olha os pesos) -----
+    public CrpOverlay(Graph graph, int cellSize) {
+        this(graph, cellSize, DEFAULT_CELLS_PER_GROUP);
+    }
+
+    public CrpOverlay(Graph graph, int cellSize, int cellsPerGroup) {
+        metrics.start();
+        this.graph = graph;
+        this.topologyVersion = graph.getTopologyVersion();
+        CsrGraph topo = graph.toCsr();
+        this.nodesNum = topo.getNodesNum();
+        int n = nodesNum;
+
+        // celulas crescendo por BFS (ignorando a direção) a partir do menor nó sem celula
+        cellOf = new int[n + 1];
+        Arrays.fill(cellOf, -1);
+        int[] queue = new int[n + 1];
+        ArrayList<Integer> offsets = new ArrayList<>();
+        int[] order = new int[n];
+        int placed = 0, cells = 0;
+        for (int seed = 1; seed <= n; seed++) {
+            if (cellOf[seed] != -1) continue;
+            offsets.add(placed);
+            int head = 0, tail = 0, size = 0;
+            queue[tail++] = seed;
+            cellOf[seed] = cells;
+            while (head < tail && size < cellSize) {
+                int u = queue[head++];
+                order[placed++] = u;
+                size++;
+                for (int k = topo.outBegin(u); k < topo.outEnd(u); k++) tail = claim(topo.target(k), cells, queue, tail);
+                for (int k = topo.inBegin(u); k < topo.inEnd(u); k++) tail = claim(topo.source(k), cells, queue, tail);
+            }
+            // quem entrou na fila mas não coube volta a ficar livre
+            for (int i = head; i < tail; i++) cellOf[queue[i]] = -1;
+            cells++;
+        }
+        offsets.add(placed);
+        cellCount = cells;
+        cellOffsets = new int[cells + 1];
+        for (int c = 0; c <= cells; c++) cellOffsets[c] = offsets.get(c);
+        cellNodes = order;
+
+        // bordas: nós com aresta (de ida ou de volta) para outra celula
+        boundaryIndex = new int[n + 1];
+        Arrays.fill(boundaryIndex, -1);
+        boundaryOffsets = new int[cells + 1];
+        int[] boundaryList = new int[n];
+        int count = 0;
+        for (int c = 0; c < cells; c++) {
+            boundaryOffsets[c] = count;
+            for (int i = cellOffsets[c]; i < cellOffsets[c + 1]; i++) {
+                int v = cellNodes[i];
+                if (isBoundary(topo, v)) {
+                    boundaryIndex[v] = count - boundaryOffsets[c];
+                    boundaryList[count++] = v;
+                }
+            }
+        }
+        boundaryOffsets[cells] = count;
+        boundary = Arrays.copyOf(boundaryList, count);
+
+        cliqueOffsets = new int[cells + 1];
+        for (int c = 0; c < cells; c++) {
+            int b = boundaryOffsets[c + 1] - boundaryOffsets[c];
+            cliqueOffsets[c + 1] = cliqueOffsets[c] + b * b;
+        }
+
+        // ----- nivel 2: grupos de celulas crescendo por BFS no grafo das celulas -----
+        groupOf = new int[cells];
+        Arrays.fill(groupOf, -1);
+        int[] cellQueue = new int[cells];
+        int[] groupOrder = new int[cells];
+        ArrayList<Integer> groupStarts = new ArrayList<>();
+        int groupedCells = 0, groups = 0;
+        for (int seed = 0; seed < cells; seed++) {
+            if (groupOf[seed] != -1) continue;
+            groupStarts.add(groupedCells);
+            int head = 0, tail = 0, size = 0;
+            cellQueue[tail++] = seed;
+            groupOf[seed] = groups;
+            while (head < tail && size < cellsPerGroup) {
+                int c = cellQueue[head++];
+                groupOrder[groupedCells++] = c;
+                size++;
+                for (int i = boundaryOffsets[c]; i < boundaryOffsets[c + 1]; i++) {
+                    int v = boundary[i];
+                    for (int k = topo.outBegin(v); k < topo.outEnd(v); k++) tail = claimCell(cellOf[topo.target(k)], groups, cellQueue, tail);
+                    for (int k = topo.inBegin(v); k < topo.inEnd(v); k++) tail = claimCell(cellOf[topo.source(k)], groups, cellQueue, tail);
+                }
+            }
+            for (int i = head; i < tail; i++) groupOf[cellQueue[i]] = -1;
+            groups++;
+        }
+        groupStarts.add(groupedCells);
+        groupCount = groups;
+
+        // bordas do grupo: bordas de celula com aresta para outro grupo
+        boundary2Index = new int[n + 1];
+        Arrays.fill(boundary2Index, -1);
+        boundary2Offsets = new int[groups + 1];
+        int[] boundary2List = new int[boundary.length];
+        int count2 = 0;
+        for (int gr = 0; gr < groups; gr++) {
+            boundary2Offsets[gr] = count2;
+            for (int i = groupStarts.get(gr); i < groupStarts.get(gr + 1); i++) {
+                int c = groupOrder[i];
+                for (int j = boundaryOffsets[c]; j < boundaryOffsets[c + 1]; j++) {
+                    int v = boundary[j];
+                    if (isGroupBoundary(topo, v)) {
+                        boundary2Index[v] = count2 - boundary2Offsets[gr];
+                        boundary2List[count2++] = v;
+                    }
+                }
+            }
+        }
+        boundary2Offsets[groups] = count2;
+        boundary2 = Arrays.copyOf(boundary2List, count2);
+
+        // o nivel 2 so vale se as cliques dos grupos não passam do dobro das das celulas
+        long clique2Size = 0;
+        for (int gr = 0; gr < groups; gr++) {
+            long b = boundary2Offsets[gr + 1] - boundary2Offsets[gr];
+            clique2Size += b * b;
+        }
+        twoLevels = groups > 1 && groups < cells && clique2Size <= 2L * cliqueOffsets[cells];
+        clique2Offsets = new int[groups + 1];
+        if (twoLevels) {
+            for (int gr = 0; gr < groups; gr++) {
+                int b = boundary2Offsets[gr + 1] - boundary2Offsets[gr];
+                clique2Offsets[gr + 1] = clique2Offsets[gr] + b * b;
+            }
+        }
+        metrics.stop();
+    }
+
+    private int claim(int v, int cell, int[] queue, int tail) {
+        if (cellOf[v] != -1) return tail;
+        cellOf[v] = cell;
+        queue[tail] = v;
+        return tail + 1;
+    }
+
+    private int claimCell(int c, int group, int[] queue, int tail) {
+        if (groupOf[c] != -1) return tail;
+        groupOf[c] = group;
+        queue[tail] = c;
+        return tail + 1;
+    }
+
+    private boolean isGroupBoundary(CsrGraph topo, int v) {
+        int gv = groupOf[cellOf[v]];
+        for (int k = topo.outBegin(v); k < topo.outEnd(v); k++) if (groupOf[cellOf[topo.target(k)]] != gv) return true;
+        for (int k = topo.inBegin(v); k < topo.inEnd(v); k++) if (groupOf[cellOf[topo.source(k)]] != gv) return true;
+        return false;
+    }
+
+    private boolean isBoundary(CsrGraph topo, int v) {
+        for (int k = topo.outBegin(v); k < topo.outEnd(v); k++) if (cellOf[topo.target(k)] != cellOf[v]) return true;
+        for (int k = topo.inBegin(v); k < topo.inEnd(v); k++) if (cellOf[topo.source(k)] != cellOf[v]) return true;
+        return false;
+    }
+
+    // ----- getters -----
+    public int getCellCount() { return cellCount; }
+    public int getBoundaryCount() { return boundary.length; }
+    public int getCell(int v) { return cellOf[v]; }
+    public boolean hasSecondLevel() { return twoLevels; }
+    public int getGroupCount() { return groupCount; }
+    public int getGroupBoundaryCount() { return boundary2.length; }
+
+    // ----- foto imutavel de uma customização: CSR, cliques dos dois niveis e a versão do grafo -----
+    private static final class Customization {
+        final CsrGraph g;
+        final int[] clique;
+        final int[] clique2; // vazio sem o nivel 2
+        final int version;
+
+        Customization(CsrGraph g, int[] clique, int[] clique2, int version) {
+            this.g = g;
+            this.clique = clique;
+            this.clique2 = clique2;
+            this.version = version;
+        }
+    }
+
+    // ----- customiza de novo se os pesos do grafo mudaram desde a ultima vez -----
+    public void ensureCustomized() {
+        customized();
+    }
+
+    // foto atual, recustomizando antes se ela ficou velha
+    private Customization customized() {
+        Customization cz = current;
+        if (cz != null && cz.version == graph.getVersion()) return cz;
+        synchronized (this) {
+            cz = current;
+            if (cz == null || cz.version != graph.getVersion()) cz = build();
+            return cz;
+        }
+    }
+
+    // ----- customização: cliques de todas as celulas com os pesos atuais, em paralelo -----
+    // monta num vetor novo; as consultas que ja começaram continuam com a foto antiga
+    public synchronized void customize() {
+        build();
+    }
+
+    private synchronized Customization build() {
+        if (graph.getTopologyVersion() != topologyVersion) {
+            throw new IllegalStateException("Topologia mudou, use CrpOverlay.forGraph para refazer o overlay");
+        }
+        Metrics m = new Metrics();
+        m.start();
+        int version = graph.getVersion();
+        CsrGraph csr = graph.toCsr();
+        int[] clique = new int[cliqueOffsets[cellCount]];
+
+        // cada celula escreve so no seu pedaço do vetor clique
+        IntStream.range(0, cellCount).parallel().forEach(c -> {
+            int first = boundaryOffsets[c], b = boundaryOffsets[c + 1] - first;
+            for (int i = 0; i < b; i++) {
+                DijkstraWorkspace ws = DijkstraWorkspace.acquire(nodesNum);
+                cellSearch(csr, boundary[first + i], -1, c, ws);
+                int row = cliqueOffsets[c] + i * b;
+                for (int j = 0; j < b; j++) {
+                    int d = ws.dist(boundary[first + j]);
+                    clique[row + j] = d == Integer.MAX_VALUE ? Graph.INF : d;
+                }
+            }
+        });
+
+        // nivel 2 em cima das cliques de celula prontas, um grupo por tarefa
+        int[] clique2 = new int[clique2Offsets[groupCount]];
+        if (twoLevels) {
+            IntStream.range(0, groupCount).parallel().forEach(gr -> {
+                int first = boundary2Offsets[gr], b = boundary2Offsets[gr + 1] - first;
+                for (int i = 0; i < b; i++) {
+                    DijkstraWorkspace ws = DijkstraWorkspace.acquire(nodesNum);
+                    groupSearch(csr, clique, boundary2[first + i], -1, gr, ws);
+                    int row = clique2Offsets[gr] + i * b;
+                    for (int j = 0; j < b; j++) {
+                        int d = ws.dist(boundary2[first + j]);
+                        clique2[row + j] = d == Integer.MAX_VALUE ? Graph.INF : d;
+                    }
+                }
+            });
+        }
+
+        Customization cz = new Customization(csr, clique, clique2, version);
+        current = cz;
+        m.sumIteration(boundary.length + (twoLevels ? boundary2.length : 0));
+        m.stop();
+        customization = m;
+        return cz;
+    }
+
+    // Dijkstra que não sai da celula (target = -1 assenta a celula toda)
+    private void cellSearch(CsrGraph csr, int origin, int target, int cell, DijkstraWorkspace ws) {
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(origin, 0, origin);
+        heap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == target) break;
+            int du = ws.dist(u);
+            for (int k = csr.outBegin(u); k < csr.outEnd(u); k++) {
+                int v = csr.target(k);
+                if (cellOf[v] != cell) continue;
+                int dv = du + csr.weight(k);
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                }
+            }
+        }
+    }
+
+    // Dijkstra nas bordas de celula de um grupo: cliques das celulas + arestas entre celulas do grupo
+    private void groupSearch(CsrGraph csr, int[] clique, int origin, int target, int group, DijkstraWorkspace ws) {
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(origin, 0, origin);
+        heap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == target) break;
+            int du = ws.dist(u);
+            int cu = cellOf[u];
+            for (int k = csr.outBegin(u); k < csr.outEnd(u); k++) {
+                int cv = cellOf[csr.target(k)];
+                if (cv == cu || groupOf[cv] != group) continue;
+                relax(ws, heap, u, csr.target(k), du + csr.weight(k));
+            }
+            relaxClique(ws, heap, u, du, clique, cliqueOffsets[cu], boundaryOffsets, boundary, boundaryIndex, cu);
+        }
+    }
+
+    // atravessa a celula (ou grupo) c de u por uma linha da clique
+    private static void relaxClique(DijkstraWorkspace ws, IndexedDaryHeap heap, int u, int du, int[] clique, int base,
+                                    int[] offsets, int[] borders, int[] index, int c) {
+        int first = offsets[c], b = offsets[c + 1] - first;
+        int row = base + index[u] * b;
+        for (int j = 0; j < b; j++) {
+            int w = clique[row + j];
+            if (w < Graph.INF) relax(ws, heap, u, borders[first + j], du + w);
+        }
+    }
+
+    // nivel em que a consulta enxerga v: 0 = arestas normais, 1 = cliques de celula, 2 = cliques de grupo
+    private int level(int v, int sourceCell, int targetCell) {
+        int c = cellOf[v];
+        if (c == sourceCell || c == targetCell) return 0;
+        if (!twoLevels) return 1;
+        int gr = groupOf[c];
+        return gr == groupOf[sourceCell] || gr == groupOf[targetCell] ? 1 : 2;
+    }
+
+    // ----- consulta origem -> target pelo overlay -----
+    // mesmo custo do Dijkstra.findPathToTarget; metrics.iterations = nós assentados
+    public PathResult findPath(int origin, int target) {
+        Customization cz = customized();
+        CsrGraph g = cz.g;
+        Metrics m = new Metrics();
+        m.start();
+
+        int sourceCell = cellOf[origin], targetCell = cellOf[target];
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(nodesNum);
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(origin, 0, origin);
+        heap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            m.sumIteration(1);
+            if (u == target) break;
+            int du = ws.dist(u);
+            int cu = cellOf[u];
+            int level = level(u, sourceCell, targetCell);
+
+            // nivel 0: todas as arestas; 1: so as que saem da celula; 2: so as que saem do grupo
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (level == 1 && cellOf[v] == cu) continue;
+                if (level == 2 && groupOf[cellOf[v]] == groupOf[cu]) continue;
+                relax(ws, heap, u, v, du + g.weight(k));
+            }
+
+            // nos niveis 1 e 2 u é borda (so se entra por aresta de fora ou por outra clique)
+            if (level == 1) {
+                relaxClique(ws, heap, u, du, cz.clique, cliqueOffsets[cu], boundaryOffsets, boundary, boundaryIndex, cu);
+            } else if (level == 2) {
+                int gr = groupOf[cu];
+                relaxClique(ws, heap, u, du, cz.clique2, clique2Offsets[gr], boundary2Offsets, boundary2, boundary2Index, gr);
+            }
+        }
+
+        PathResult result = ws.isReached(target) ? unpack(cz, ws, origin, target, sourceCell, targetCell)
+                                                 : new PathResult(null, -1);
+        m.stop();
+        result.metrics = m;
+        return result;
+    }
+
+    private static void relax(DijkstraWorkspace ws, IndexedDaryHeap heap, int u, int v, int dv) {
+        if (dv < ws.dist(v)) {
+            ws.set(v, dv, u);
+            heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+        }
+    }
+
+    // troca cada salto de clique pelo caminho que ele resume: salto de grupo vira bordas de
+    // celula (groupSearch) e cada salto de celula vira o caminho dentro dela (cellSearch)
+    private PathResult unpack(Customization cz, DijkstraWorkspace ws, int origin, int target, int sourceCell, int targetCell) {
+        ArrayList<Integer> overlayPath = new ArrayList<>();
+        for (int curr = target; curr != origin; curr = ws.parent(curr)) overlayPath.add(curr);
+        overlayPath.add(origin);
+        Collections.reverse(overlayPath);
+        int cost = ws.dist(target);
+        // daqui pra frente o workspace da consulta ja foi lido e pode ser reaproveitado
+
+        ArrayList<Integer> path = new ArrayList<>();
+        path.add(origin);
+        for (int i = 0; i + 1 < overlayPath.size(); i++) {
+            int a = overlayPath.get(i), b = overlayPath.get(i + 1);
+            int level = level(a, sourceCell, targetCell);
+            if (level == 2 && a != b && groupOf[cellOf[a]] == groupOf[cellOf[b]]) {
+                DijkstraWorkspace inner = DijkstraWorkspace.acquire(nodesNum);
+                groupSearch(cz.g, cz.clique, a, b, groupOf[cellOf[a]], inner);
+                ArrayList<Integer> borders = parentChain(inner, a, b);
+                int prev = a;
+                for (int x : borders) {
+                    if (cellOf[x] == cellOf[prev]) unpackCell(cz.g, prev, x, path);
+                    else path.add(x);
+                    prev = x;
+                }
+            } else if (level == 1 && a != b && cellOf[a] == cellOf[b]) {
+                unpackCell(cz.g, a, b, path);
+            } else {
+                path.add(b);
+            }
+        }
+        return new PathResult(path, cost);
+    }
+
+    // caminho a -> b dentro da celula deles (sem o a) no fim de path
+    private void unpackCell(CsrGraph g, int a, int b, ArrayList<Integer> path) {
+        DijkstraWorkspace inner = DijkstraWorkspace.acquireBackward(nodesNum);
+        cellSearch(g, a, b, cellOf[a], inner);
+        path.addAll(parentChain(inner, a, b));
+    }
+
+    // nós de from (exclusive) ate to pelos pais da busca
+    private static ArrayList<Integer> parentChain(DijkstraWorkspace ws, int from, int to) {
+        ArrayList<Integer> piece = new ArrayList<>();
+        for (int curr = to; curr != from; curr = ws.parent(curr)) piece.add(curr);
+        Collections.reverse(piece);
+        return piece;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: caminhos minimos e maximos em grafo aciclico (DAG) pela ordem topologica
+ * cada nó é relaxado uma vez, depois de todos os seus predecessores, então a distancia
+ * ja é final quando ele sai: O(V + E), sem fila de prioridade e aceitando peso negativo.
+ * desempate igual ao do Dijkstra: pai = predecessor justo de menor (d(u), u)
+ */
+
+package src.Algorithms;
+
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class DagPaths {
+
+    // ----- menor caminho origem -> target; null se o grafo tem ciclo -----
+    public static PathResult findShortestPath(Graph graph, int origin, int target) {
+        return findPath(graph, origin, target, false);
+    }
+
+    // ----- maior caminho origem -> target (caminho critico entre dois nós); null se tem ciclo -----
+    public static PathResult findLongestPath(Graph graph, int origin, int target) {
+        return findPath(graph, origin, target, true);
+    }
+
+    private static PathResult findPath(Graph graph, int origin, int target, boolean longest) {
+        int[] order = graph.topologicalOrder();
+        if (order == null) return null;
+
+        Metrics m = new Metrics();
+        m.start();
+        CsrGraph g = graph.toCsr();
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(g.getNodesNum());
+        m.sumIteration(relax(g, order, origin, target, longest, ws));
+        PathResult result = Dijkstra.buildPath(ws, origin, target);
+        m.stop();
+        result.metrics = m;
+        return result;
+    }
+
+    // ----- arvore de caminhos minimos inteira; null se tem ciclo -----
+    public static ShortestPathTree shortestPathTree(Graph graph, int origin) {
+        int[] order = graph.topologicalOrder();
+        if (order == null) return null;
+
+        Metrics m = new Metrics();
+        m.start();
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(n);
+        m.sumIteration(relax(g, order, origin, -1, false, ws));
+
+        int[] dist = new int[n + 1];
+        int[] parent = new int[n + 1];
+        for (int v = 0; v <= n; v++) {
+            dist[v] = ws.dist(v);
+            parent[v] = ws.parent(v);
+        }
+        ShortestPathTree tree = new ShortestPathTree(origin, n, graph.getVersion(), dist, parent);
+        m.stop();
+        tree.metrics = m;
+        return tree;
+    }
+
+    // ----- relaxa os nós alcançados na ordem topologica (para no target, se >= 0) -----
+    // longest = true fica com o maior custo em vez do menor. retorna quantos nós foram relaxados
+    static int relax(CsrGraph g, int[] order, int origin, int target, boolean longest, DijkstraWorkspace ws) {
+        ws.set(origin, 0, origin);
+        int relaxed = 0;
+        for (int u : order) {
+            if (!ws.isReached(u)) continue; // antes da origem ou fora do alcance dela
+            relaxed++;
+            if (u == target) break;
+            int du = ws.dist(u);
+
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                int dv = du + g.weight(k);
+                if (!ws.isReached(v) || (longest ? dv > ws.dist(v) : dv < ws.dist(v))) {
+                    ws.set(v, dv, u);
+                } else if (dv == ws.dist(v) && precedes(ws, u, ws.parent(v))) {
+                    ws.set(v, dv, u); // empate: fica o predecessor de menor (d(u), u)
+                }
+            }
+        }
+        return relaxed;
+    }
+
+    private static boolean precedes(DijkstraWorkspace ws, int a, int b) {
+        int da = ws.dist(a), db = ws.dist(b);
+        return da < db || (da == db && a < b);
+    }
+}
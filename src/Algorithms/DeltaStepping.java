@@ -0,0 +1,195 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: Delta-stepping (Meyer & Sanders) paralelo para caminho minimo de uma origem
+ * os nós ficam em baldes de largura delta; as arestas leves (w <= delta) de um balde são
+ * relaxadas em rodadas ate ele esvaziar, depois as pesadas (w > delta) de uma vez so.
+ * cada rodada relaxa a fronteira inteira em paralelo no ForkJoinPool comum (CAS na distancia)
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class DeltaStepping {
+
+    // fronteiras menores que isso são relaxadas na thread atual
+    private static final int PARALLEL_FRONTIER = 256;
+
+    // ----- delta padrão: peso maximo / grau medio (Meyer & Sanders), no minimo 1 -----
+    public static int defaultDelta(CsrGraph g) {
+        int n = Math.max(1, g.getNodesNum());
+        double avgDegree = Math.max(1.0, (double) g.getEdgesNum() / n);
+        return Math.max(1, (int) Math.round(g.getMaxWeight() / avgDegree));
+    }
+
+    // ----- distancias a partir da origem (Integer.MAX_VALUE = inalcançavel) -----
+    public static int[] distances(Graph graph, int origin) {
+        CsrGraph g = graph.toCsr();
+        return distances(g, origin, defaultDelta(g));
+    }
+
+    public static int[] distances(CsrGraph g, int origin, int delta) {
+        if (delta < 1) throw new IllegalArgumentException("delta deve ser >= 1");
+        int n = g.getNodesNum();
+
+        // pesos negativos ou nulos: o paralelo não vale, usa o Dijkstra sequencial
+        if (g.getEdgesNum() > 0 && g.getMinWeight() <= 0) {
+            int[] dist = new int[n + 1];
+            Dijkstra.settleAll(g, origin, false, dist, new int[n + 1], null);
+            return dist;
+        }
+
+        AtomicIntegerArray dist = new AtomicIntegerArray(n + 1);
+        for (int v = 0; v <= n; v++) dist.set(v, Integer.MAX_VALUE);
+        dist.set(origin, 0);
+
+        // baldes circulares: basta (peso maximo / delta) + 2 baldes vivos ao mesmo tempo
+        int numBuckets = g.getMaxWeight() / delta + 2;
+        IntList[] buckets = new IntList[numBuckets];
+        for (int i = 0; i < numBuckets; i++) buckets[i] = new IntList();
+        buckets[0].add(origin);
+        int pending = 1;
+
+        int[] seen = new int[n + 1]; // marca de rodada para tirar repetidos da fronteira
+        int round = 0;
+
+        IntList settled = new IntList();
+        long current = 0; // indice absoluto do balde atual
+
+        while (pending > 0) {
+            // acha o proximo balde não vazio
+            IntList bucket = buckets[(int) (current % numBuckets)];
+            if (bucket.size == 0) {
+                current++;
+                continue;
+            }
+
+            settled.clear();
+            while (bucket.size > 0) {
+                // fronteira: nós do balde cuja distancia ainda cai nele
+                round++;
+                int[] frontier = new int[bucket.size];
+                int size = 0;
+                for (int i = 0; i < bucket.size; i++) {
+                    int v = bucket.data[i];
+                    if (seen[v] == round) continue;
+                    seen[v] = round;
+                    if (dist.get(v) / delta == current) frontier[size++] = v;
+                }
+                pending -= bucket.size;
+                bucket.clear();
+
+                for (int i = 0; i < size; i++) settled.add(frontier[i]);
+                pending += distribute(relax(g, dist, frontier, size, delta, true), dist, delta, buckets);
+            }
+
+            // arestas pesadas de tudo que saiu deste balde
+            int[] all = Arrays.copyOf(settled.data, settled.size);
+            pending += distribute(relax(g, dist, all, all.length, delta, false), dist, delta, buckets);
+            current++;
+        }
+
+        int[] result = new int[n + 1];
+        for (int v = 0; v <= n; v++) result[v] = dist.get(v);
+        return result;
+    }
+
+    // ----- relaxa as arestas leves (light = true) ou pesadas da fronteira -----
+    // devolve os nós que tiveram a distancia melhorada (pode ter repetidos)
+    private static int[] relax(CsrGraph g, AtomicIntegerArray dist, int[] frontier, int size, int delta, boolean light) {
+        if (size < PARALLEL_FRONTIER) {
+            IntList improved = new IntList();
+            for (int i = 0; i < size; i++) relaxNode(g, dist, frontier[i], delta, light, improved);
+            return Arrays.copyOf(improved.data, improved.size);
+        }
+
+        // cada pedaço da fronteira junta seus melhorados numa lista propria
+        int chunks = Math.min(size / PARALLEL_FRONTIER, 4 * Runtime.getRuntime().availableProcessors());
+        IntList[] parts = new IntList[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            IntList improved = new IntList();
+            int from = (int) ((long) size * c / chunks);
+            int to = (int) ((long) size * (c + 1) / chunks);
+            for (int i = from; i < to; i++) relaxNode(g, dist, frontier[i], delta, light, improved);
+            parts[c] = improved;
+        });
+
+        int total = 0;
+        for (IntList part : parts) total += part.size;
+        int[] result = new int[total];
+        int at = 0;
+        for (IntList part : parts) {
+            System.arraycopy(part.data, 0, result, at, part.size);
+            at += part.size;
+        }
+        return result;
+    }
+
+    private static void relaxNode(CsrGraph g, AtomicIntegerArray dist, int u, int delta, boolean light, IntList improved) {
+        int du = dist.get(u);
+        for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+            int w = g.weight(k);
+            if ((w <= delta) != light) continue;
+            int v = g.target(k);
+            int dv = du + w;
+            int old = dist.get(v);
+            while (dv < old) { // CAS do minimo
+                if (dist.compareAndSet(v, old, dv)) {
+                    improved.add(v);
+                    break;
+                }
+                old = dist.get(v);
+            }
+        }
+    }
+
+    // ----- coloca os nós melhorados no balde da nova distancia -----
+    private static int distribute(int[] improved, AtomicIntegerArray dist, int delta, IntList[] buckets) {
+        for (int v : improved) {
+            buckets[(dist.get(v) / delta) % buckets.length].add(v);
+        }
+        return improved.length;
+    }
+
+    // ----- pais da arvore de caminhos minimos a partir das distancias -----
+    // pai de v = predecessor justo (d(u) + w = d(v)) de menor (d(u), u): é exatamente o
+    // pai que o Dijkstra com heap escolhe, então a arvore sai igual. precisa de pesos > 0
+    public static int[] parents(CsrGraph g, int origin, int[] dist) {
+        int n = g.getNodesNum();
+        int[] parent = new int[n + 1];
+        IntStream.rangeClosed(0, n).parallel().forEach(v -> {
+            if (v == origin) {
+                parent[v] = origin;
+                return;
+            }
+            int best = -1;
+            if (dist[v] != Integer.MAX_VALUE) {
+                for (int k = g.inBegin(v); k < g.inEnd(v); k++) {
+                    int u = g.source(k);
+                    if (dist[u] == Integer.MAX_VALUE || dist[u] + g.inWeight(k) != dist[v]) continue;
+                    if (best == -1 || dist[u] < dist[best] || (dist[u] == dist[best] && u < best)) best = u;
+                }
+            }
+            parent[v] = best;
+        });
+        return parent;
+    }
+
+    // vetor de int que cresce (balde)
+    private static final class IntList {
+        int[] data = new int[8];
+        int size = 0;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        void clear() { size = 0; }
+    }
+}
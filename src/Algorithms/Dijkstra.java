@@ -1,150 +1,309 @@
 package src.Algorithms;
 
+import src.Core.CsrGraph;
 import src.Core.Graph;
-import src.Core.Edge;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Dijkstra {
 
-    public static void findPaths(Graph graph, int origin) {
-
-        int n = graph.getNodesNum();
-        List<Edge> edges = graph.getEdges();
+    // a partir daqui o shortestPathTree usa o delta-stepping paralelo (se houver mais de um core)
+    public static final int DELTA_STEPPING_THRESHOLD = 50_000;
 
-        // nodeTable[i][0] = visitado (0 = Não, 1 = Sim)
-        // nodeTable[i][1] = distancia (Integer.MAX_VALUE = infinito)
-        int[][] nodeTable = new int[n + 1][2];
-        int[] parent = new int[n + 1];
+    // peso maximo para o motor de baldes (Dial); acima disso usa o heap
+    public static final int DIAL_MAX_WEIGHT = 255;
 
-        for (int i = 1; i <= n; i++) {
-            nodeTable[i][1] = Integer.MAX_VALUE;
-            nodeTable[i][0] = 0;
-            parent[i] = -1;
+    public static void findPaths(Graph graph, int origin) {
+        try {
+            ShortestPathTreeWriter.write(shortestPathTree(graph, origin), System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        nodeTable[origin][1] = 0;
-        parent[origin] = origin;
+    // ----- arvore de caminhos minimos inteira a partir da origem -----
+    // em DAG a relaxação pela ordem topologica ja resolve em O(V + E)
+    public static ShortestPathTree shortestPathTree(Graph graph, int origin) {
+        ShortestPathTree dagTree = DagPaths.shortestPathTree(graph, origin);
+        if (dagTree != null) return dagTree;
 
-        for (int i = 1; i <= n; i++) {
+        Metrics m = new Metrics();
+        m.start();
 
-            int u = -1;
-            int mindist = Integer.MAX_VALUE;
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
 
-            for (int j = 1; j <= n; j++) {
-                if (nodeTable[j][0] == 0 && nodeTable[j][1] < mindist) {
-                    mindist = nodeTable[j][1];
-                    u = j;
-                }
-            }
+        int[] dist = new int[n + 1];
+        int[] parent = new int[n + 1];
+        if (n >= DELTA_STEPPING_THRESHOLD && g.getMinWeight() > 0
+                && Runtime.getRuntime().availableProcessors() > 1) {
+            dist = DeltaStepping.distances(g, origin, DeltaStepping.defaultDelta(g));
+            parent = DeltaStepping.parents(g, origin, dist);
+        } else {
+            settleAll(g, origin, false, dist, parent, null);
+        }
 
-            if (u == -1)
-                break;
+        ShortestPathTree tree = new ShortestPathTree(origin, n, graph.getVersion(), dist, parent);
+        m.stop();
+        tree.metrics = m;
+        return tree;
+    }
 
-            nodeTable[u][0] = 1;
+    public static PathResult findPathToTarget(Graph graph, int origin, int target) {
+        PathResult dagPath = DagPaths.findShortestPath(graph, origin, target);
+        if (dagPath != null) return dagPath;
 
-            // Relaxamento (Percorre a lista de arestas para encontrar vizinhos de u)
-            for (Edge e : edges) {
-                if (e.getNode1() == u) {
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
 
-                    int v = e.getNode2();
-                    int w = e.getWeight();
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(n);
+        search(g, origin, target, ws);
 
-                    if (nodeTable[u][1] != Integer.MAX_VALUE &&
-                        nodeTable[u][1] + w < nodeTable[v][1]) {
+        return buildPath(ws, origin, target);
+    }
 
-                        nodeTable[v][1] = nodeTable[u][1] + w;
-                        parent[v] = u;
-                    }
-                }
-            }
+    // ----- isocrona: todos os nós com custo <= budget a partir da origem -----
+    // a busca para no primeiro nó acima do orçamento, então so mexe na região alcançada.
+    // os nós saem em ordem crescente de custo
+    public static ReachableSet reachableWithin(Graph graph, int origin, int budget) {
+        Metrics m = new Metrics();
+        m.start();
+
+        CsrGraph g = graph.toCsr();
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(g.getNodesNum());
+        int[] order = ws.order();
+        int count = run(g, origin, false, -1, null, 0, budget, ws, order);
+
+        int[] nodes = Arrays.copyOf(order, count);
+        int[] costs = new int[count];
+        int[] parents = new int[count];
+        for (int i = 0; i < count; i++) {
+            costs[i] = ws.dist(nodes[i]);
+            parents[i] = ws.parent(nodes[i]);
         }
 
-        System.out.println("Distance from node " + origin + ":");
-        for (int i = 1; i <= n; i++) {
+        m.sumIteration(count);
+        m.stop();
+        return new ReachableSet(origin, budget, nodes, costs, parents, m);
+    }
 
-            if (nodeTable[i][1] == Integer.MAX_VALUE) {
-                System.out.println("Node " + i + " = INF");
-            } else {
+    // ----- ate k caminhos alternativos sem ciclo, do mais barato pro mais caro (Yen) -----
+    public static List<PathResult> findKShortestPaths(Graph graph, int origin, int target, int k) {
+        return KShortestPaths.find(graph, origin, target, k);
+    }
 
-                System.out.print("Node " + i + " = " + nodeTable[i][1] + " | Path: ");
+    // ----- mesmo resultado do findPathToTarget, mas pela arvore da origem no cache LRU -----
+    // vale a pena quando as consultas repetem as mesmas origens
+    public static PathResult findPathCached(Graph graph, int origin, int target) {
+        return ShortestPathTreeCache.forGraph(graph).findPath(origin, target);
+    }
 
-                // Reconstrói o caminho invertido
-                ArrayList<Integer> path = new ArrayList<>();
-                int curr = i;
+    // ----- Dijkstra bidirecional: origem pra frente e target pra tras (CSR reverso) -----
+    // para quando topo(frente) + topo(tras) > melhor caminho que ja se encontrou; ai todo
+    // nó de um caminho minimo ja foi assentado por um dos lados. para o caminho ser o mesmo
+    // do findPathToTarget (pai = predecessor justo de menor (d(u), u)) a busca da frente
+    // continua, so dentro dos nós assentados pelo lado de tras, ate o target sair do heap:
+    // a ordem de saida é a do heap da busca simples. metrics.iterations = nós assentados
+    public static PathResult findPathBidirectional(Graph graph, int origin, int target) {
+
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
+        Metrics metrics = new Metrics();
+        metrics.start();
+
+        if (origin == target) {
+            ArrayList<Integer> path = new ArrayList<>();
+            path.add(origin);
+            metrics.stop();
+            return new PathResult(path, 0, metrics);
+        }
 
-                while (curr != origin) {
-                    if (curr == -1) break;
-                    path.add(curr);
-                    curr = parent[curr];
+        DijkstraWorkspace fw = DijkstraWorkspace.acquire(n);
+        DijkstraWorkspace bw = DijkstraWorkspace.acquireBackward(n);
+        IndexedDaryHeap fHeap = fw.heap();
+        IndexedDaryHeap bHeap = bw.heap();
+
+        fw.set(origin, 0, origin);
+        fHeap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+        bw.set(target, 0, target);
+        bHeap.insertOrDecrease(target, IndexedDaryHeap.key(0, target));
+
+        long best = Long.MAX_VALUE;
+
+        while (!fHeap.isEmpty() && !bHeap.isEmpty()) {
+            long topF = fHeap.peekKey() >> 32;
+            long topB = bHeap.peekKey() >> 32;
+            if (topF + topB > best) break;
+
+            metrics.sumIteration(1);
+
+            if (topF <= topB) {
+                int u = fHeap.poll();
+                fw.settle(u);
+                int du = fw.dist(u);
+                for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                    int v = g.target(k);
+                    if (fw.isSettled(v)) continue;
+                    int dv = du + g.weight(k);
+                    if (dv < fw.dist(v)) {
+                        fw.set(v, dv, u);
+                        fHeap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                    }
+                    if (bw.isReached(v) && (long) dv + bw.dist(v) < best) best = (long) dv + bw.dist(v);
                 }
-                path.add(origin);
+            } else {
+                int v = bHeap.poll();
+                bw.settle(v);
+                int dv = bw.dist(v);
+                for (int k = g.inBegin(v); k < g.inEnd(v); k++) {
+                    int u = g.source(k);
+                    if (bw.isSettled(u)) continue;
+                    int du = dv + g.inWeight(k);
+                    if (du < bw.dist(u)) {
+                        bw.set(u, du, v);
+                        bHeap.insertOrDecrease(u, IndexedDaryHeap.key(du, u));
+                    }
+                    if (fw.isReached(u) && (long) du + fw.dist(u) < best) best = (long) du + fw.dist(u);
+                }
+            }
+        }
+
+        if (best == Long.MAX_VALUE) {
+            metrics.stop();
+            return new PathResult(null, -1, metrics);
+        }
 
-                // Imprime na ordem correta
-                for (int k = path.size() - 1; k >= 0; k--) {
-                    System.out.print(path.get(k));
-                    if (k > 0) System.out.print(" -> ");
+        // fecha a frente pelos nós assentados de tras: fora deles não ha nó de caminho minimo
+        while (!fHeap.isEmpty() && !fw.isSettled(target)) {
+            int u = fHeap.poll();
+            fw.settle(u);
+            if (u == target) break;
+            if (!bw.isSettled(u)) continue;
+            metrics.sumIteration(1);
+            int du = fw.dist(u);
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (fw.isSettled(v) || !bw.isSettled(v)) continue;
+                int dv = du + g.weight(k);
+                if (dv < fw.dist(v)) {
+                    fw.set(v, dv, u);
+                    fHeap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
                 }
-                System.out.println();
             }
         }
+
+        metrics.stop();
+        PathResult result = buildPath(fw, origin, target);
+        result.metrics = metrics;
+        return result;
     }
-    
 
-    public static PathResult findPathToTarget(Graph graph, int origin, int target) {
+    // ----- modo ALT: A* com limites inferiores dos landmarks -----
+    // o pre-processamento roda uma vez por versão do grafo (AltIndex.forGraph)
+    public static PathResult findPathAlt(Graph graph, int origin, int target) {
+        return AltIndex.forGraph(graph).findPath(origin, target);
+    }
 
-        int n = graph.getNodesNum();
-        List<Edge> edges = graph.getEdges();
+    // ----- modo Contraction Hierarchies: para volume alto de consultas no mesmo grafo -----
+    // a hierarquia é construida uma vez por versão do grafo (ContractionHierarchy.forGraph)
+    public static PathResult findPathCH(Graph graph, int origin, int target) {
+        return ContractionHierarchy.forGraph(graph).findPath(origin, target);
+    }
 
-        // nodeTable[i][0] = visitado
-        // nodeTable[i][1] = distancia
-        int[][] nodeTable = new int[n + 1][2];
-        int[] parent = new int[n + 1];
+    // ----- modo CRP: para grafos cujos pesos mudam (Graph.setEdgeWeight) entre as consultas -----
+    // a partição sai da topologia uma vez; mudança de peso so refaz as cliques das celulas
+    public static PathResult findPathCRP(Graph graph, int origin, int target) {
+        return CrpOverlay.forGraph(graph).findPath(origin, target);
+    }
+
+    // ----- tabela de distancias origens x destinos (matriz de custos) -----
+    // uma busca por origem, em paralelo no ForkJoinPool, cada thread com seu workspace.
+    // resultado linha a linha: table[i * targets.length + j] = d(sources[i], targets[j]),
+    // Graph.INF quando não ha caminho
+    public static int[] distanceTable(Graph graph, int[] sources, int[] targets) {
+        int[] table = new int[tableSize(sources, targets)];
+        distanceTable(graph, sources, targets, IntBuffer.wrap(table));
+        return table;
+    }
 
-        // 1. Inicializa
-        for (int i = 1; i <= n; i++) {
-            nodeTable[i][1] = Integer.MAX_VALUE;
-            nodeTable[i][0] = 0;
-            parent[i] = -1;
+    // ----- mesma tabela escrita num IntBuffer (ex.: FileChannel.map(...).asIntBuffer()) -----
+    public static void distanceTable(Graph graph, int[] sources, int[] targets, IntBuffer out) {
+        if (out.capacity() < tableSize(sources, targets)) {
+            throw new IllegalArgumentException("Buffer menor que a tabela " + sources.length + "x" + targets.length);
+        }
+        CsrGraph g = graph.toCsr();
+        boolean[] isTarget = new boolean[g.getNodesNum() + 1];
+        int distinct = 0;
+        for (int t : targets) {
+            if (!isTarget[t]) distinct++;
+            isTarget[t] = true;
         }
+        ForkJoinPool.commonPool().invoke(new TableTask(g, sources, targets, isTarget, distinct, out, 0, sources.length));
+    }
 
-        nodeTable[origin][1] = 0;
-        parent[origin] = origin;
+    // linhas x colunas; acima de Integer.MAX_VALUE não cabe num vetor nem num IntBuffer
+    private static int tableSize(int[] sources, int[] targets) {
+        try {
+            return Math.multiplyExact(sources.length, targets.length);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Tabela " + sources.length + "x" + targets.length + " grande demais", e);
+        }
+    }
 
-        for (int i = 1; i <= n; i++) {
-            int u = -1, mindist = Integer.MAX_VALUE;
+    // divide as origens ao meio ate sobrar poucas, cada folha roda suas buscas
+    private static final class TableTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF = 4;
+        private final CsrGraph g;
+        private final int[] sources, targets;
+        private final boolean[] isTarget;
+        private final int distinct;
+        private final IntBuffer out;
+        private final int from, to;
+
+        TableTask(CsrGraph g, int[] sources, int[] targets, boolean[] isTarget, int distinct,
+                  IntBuffer out, int from, int to) {
+            this.g = g;
+            this.sources = sources;
+            this.targets = targets;
+            this.isTarget = isTarget;
+            this.distinct = distinct;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
 
-            // Escolhe nó não visitado com menor distância
-            for (int j = 1; j <= n; j++) {
-                if (nodeTable[j][0] == 0 && nodeTable[j][1] < mindist) {
-                    mindist = nodeTable[j][1];
-                    u = j;
-                }
+        @Override
+        protected void compute() {
+            if (to - from > LEAF) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TableTask(g, sources, targets, isTarget, distinct, out, from, mid),
+                          new TableTask(g, sources, targets, isTarget, distinct, out, mid, to));
+                return;
             }
-
-            if (u == -1) break;
-            nodeTable[u][0] = 1;
-
-            // Relaxamento
-            for (Edge e : edges) {
-                if (e.getNode1() == u) {
-                    int v = e.getNode2();
-                    int w = e.getWeight();
-                    
-                    if (nodeTable[u][1] != Integer.MAX_VALUE &&
-                        nodeTable[u][1] + w < nodeTable[v][1]) {
-                        
-                        nodeTable[v][1] = nodeTable[u][1] + w;
-                        parent[v] = u;
-                    }
+            for (int i = from; i < to; i++) {
+                DijkstraWorkspace ws = DijkstraWorkspace.acquire(g.getNodesNum());
+                searchTargets(g, sources[i], isTarget, distinct, ws);
+                int row = i * targets.length;
+                for (int j = 0; j < targets.length; j++) {
+                    int d = ws.dist(targets[j]);
+                    out.put(row + j, d == Integer.MAX_VALUE ? Graph.INF : d);
                 }
             }
         }
+    }
 
-        // Reconstroi o caminho ate o target
+    // ----- Reconstroi o caminho ate o target a partir dos pais da busca -----
+    static PathResult buildPath(DijkstraWorkspace ws, int origin, int target) {
         ArrayList<Integer> path = new ArrayList<>();
-        if (nodeTable[target][1] == Integer.MAX_VALUE) {
+        if (ws.dist(target) == Integer.MAX_VALUE) {
             return new PathResult(null, -1);
         }
 
@@ -152,11 +311,174 @@ public class Dijkstra {
         while (curr != origin) {
              if (curr == -1) return new PathResult(null, -1);
             path.add(curr);
-            curr = parent[curr];
+            curr = ws.parent(curr);
         }
         path.add(origin);
         Collections.reverse(path);
 
-        return new PathResult(path, nodeTable[target][1]);
+        return new PathResult(path, ws.dist(target));
+    }
+
+    // ----- SSSP completo em arrays proprios, usado nos pre-processamentos (ALT, ...) -----
+    // reverse = true anda nas arestas de entrada (distancia de cada nó ATE a origem).
+    // dist/parent precisam ter n + 1 posições; order (opcional) recebe os nós na ordem em
+    // que foram assentados. retorna quantos nós foram alcançados
+    static int settleAll(CsrGraph g, int origin, boolean reverse, int[] dist, int[] parent, int[] order) {
+        int n = g.getNodesNum();
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(n);
+        int settled = run(g, origin, reverse, -1, null, 0, ws, order);
+
+        for (int v = 0; v <= n; v++) {
+            dist[v] = ws.dist(v);
+            parent[v] = ws.parent(v);
+        }
+        return settled;
+    }
+
+    // ----- busca ate o target sair da fila (target = -1 calcula todos os nós) -----
+    // ws ja vem limpo (DijkstraWorkspace.acquire), nó não alcançado = Integer.MAX_VALUE
+    static void search(CsrGraph g, int origin, int target, DijkstraWorkspace ws) {
+        run(g, origin, false, target, null, 0, ws, null);
+    }
+
+    // ----- busca que para quando todos os destinos marcados (distinct nós) foram assentados -----
+    private static void searchTargets(CsrGraph g, int origin, boolean[] isTarget, int distinct, DijkstraWorkspace ws) {
+        run(g, origin, false, -1, isTarget, distinct, ws, null);
+    }
+
+    // ----- escolhe o motor pelo intervalo de pesos do grafo -----
+    // todos 1 -> BFS; inteiros positivos ate DIAL_MAX_WEIGHT -> baldes (Dial); senão heap.
+    // os tres desempatam igual (pai = predecessor justo de menor (d(u), u)), então a arvore
+    // de caminhos não depende do motor. para quando o target sai da fila, ou quando o
+    // ultimo dos isTarget sai; retorna quantos nós foram assentados
+    static int run(CsrGraph g, int origin, boolean reverse, int target, boolean[] isTarget, int distinct,
+                   DijkstraWorkspace ws, int[] order) {
+        return run(g, origin, reverse, target, isTarget, distinct, Integer.MAX_VALUE, ws, order);
+    }
+
+    // mesma coisa, mas para antes de assentar um nó com distancia > limit (busca limitada)
+    static int run(CsrGraph g, int origin, boolean reverse, int target, boolean[] isTarget, int distinct, int limit,
+                   DijkstraWorkspace ws, int[] order) {
+        if (g.getEdgesNum() > 0 && g.getMinWeight() >= 1) {
+            if (g.getMaxWeight() == 1) return bfsSearch(g, origin, reverse, target, isTarget, distinct, limit, ws, order);
+            if (g.getMaxWeight() <= DIAL_MAX_WEIGHT) return dialSearch(g, origin, reverse, target, isTarget, distinct, limit, ws, order);
+        }
+        return heapSearch(g, origin, reverse, target, isTarget, distinct, limit, ws, order);
+    }
+
+    // ----- motor com heap d-ario indexado e decrease-key (qualquer peso) -----
+    // o heap desempata pelo menor nó, então a arvore é a mesma da varredura O(n²) antiga.
+    // como na varredura antiga, nó assentado não volta pro heap: com peso negativo (a
+    // interface aceita) a busca ainda termina e cada nó sai no maximo uma vez
+    private static int heapSearch(CsrGraph g, int origin, boolean reverse, int target, boolean[] isTarget, int remaining, int limit,
+                                  DijkstraWorkspace ws, int[] order) {
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(origin, 0, origin);
+        heap.insertOrDecrease(origin, IndexedDaryHeap.key(0, origin));
+
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            if (ws.dist(heap.peek()) > limit) break;
+            int u = heap.poll();
+            ws.settle(u);
+            if (order != null) order[settled] = u;
+            settled++;
+            if (u == target || (isTarget != null && isTarget[u] && --remaining == 0)) break;
+            int du = ws.dist(u);
+
+            // Relaxamento
+            int begin = reverse ? g.inBegin(u) : g.outBegin(u);
+            int end = reverse ? g.inEnd(u) : g.outEnd(u);
+            for (int k = begin; k < end; k++) {
+                int v = reverse ? g.source(k) : g.target(k);
+                if (ws.isSettled(v)) continue;
+                int dv = du + (reverse ? g.inWeight(k) : g.weight(k));
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                }
+            }
+        }
+        return settled;
+    }
+
+    // ----- motor Dial: baldes circulares indexados pela distancia, O(m + n * C) -----
+    // dentro do balde a ordem é qualquer, então no empate de distancia o pai vira o
+    // predecessor de menor (d(u), u), igual ao que o heap escolheria
+    private static int dialSearch(CsrGraph g, int origin, boolean reverse, int target, boolean[] isTarget, int remaining, int limit,
+                                  DijkstraWorkspace ws, int[] order) {
+        BucketQueue buckets = ws.buckets();
+        buckets.reset(g.getMaxWeight());
+        ws.set(origin, 0, origin);
+        buckets.add(0, origin);
+
+        int settled = 0;
+        int current = 0;
+        search:
+        while (!buckets.isEmpty()) {
+            while (buckets.size(current) == 0) current++;
+            while (buckets.size(current) > 0) {
+                int u = buckets.poll(current);
+                if (ws.dist(u) != current) continue; // entrada velha: u ja melhorou
+                if (current > limit) break search;
+                if (order != null) order[settled] = u;
+                settled++;
+                if (u == target || (isTarget != null && isTarget[u] && --remaining == 0)) break search;
+
+                int begin = reverse ? g.inBegin(u) : g.outBegin(u);
+                int end = reverse ? g.inEnd(u) : g.outEnd(u);
+                for (int k = begin; k < end; k++) {
+                    int v = reverse ? g.source(k) : g.target(k);
+                    int dv = current + (reverse ? g.inWeight(k) : g.weight(k));
+                    int old = ws.dist(v);
+                    if (dv < old) {
+                        ws.set(v, dv, u);
+                        buckets.add(dv, v);
+                    } else if (dv == old && precedes(ws, u, ws.parent(v))) {
+                        ws.set(v, dv, u);
+                    }
+                }
+            }
+        }
+        return settled;
+    }
+
+    // ----- motor BFS: todos os pesos 1, fila FIFO simples -----
+    // a fila sai em ordem de distancia; pai = vizinho de menor id da camada anterior
+    private static int bfsSearch(CsrGraph g, int origin, boolean reverse, int target, boolean[] isTarget, int remaining, int limit,
+                                 DijkstraWorkspace ws, int[] order) {
+        int[] queue = ws.queue();
+        int head = 0, tail = 0;
+        ws.set(origin, 0, origin);
+        queue[tail++] = origin;
+
+        int settled = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            if (ws.dist(u) > limit) break;
+            if (order != null) order[settled] = u;
+            settled++;
+            if (u == target || (isTarget != null && isTarget[u] && --remaining == 0)) break;
+            int dv = ws.dist(u) + 1;
+
+            int begin = reverse ? g.inBegin(u) : g.outBegin(u);
+            int end = reverse ? g.inEnd(u) : g.outEnd(u);
+            for (int k = begin; k < end; k++) {
+                int v = reverse ? g.source(k) : g.target(k);
+                if (!ws.isReached(v)) {
+                    ws.set(v, dv, u);
+                    queue[tail++] = v;
+                } else if (ws.dist(v) == dv && u < ws.parent(v)) {
+                    ws.set(v, dv, u);
+                }
+            }
+        }
+        return settled;
+    }
+
+    // (d(u), u) < (d(p), p): regra de desempate do heap
+    private static boolean precedes(DijkstraWorkspace ws, int u, int p) {
+        int du = ws.dist(u), dp = ws.dist(p);
+        return du < dp || (du == dp && u < p);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: area de trabalho reaproveitavel do Dijkstra (distancia, pai, heap, baldes e fila), uma por thread
+ * o reset é preguiçoso: cada busca ganha uma geração nova e so vale o que foi carimbado nela,
+ * então uma consulta curta so mexe nos nós que ela realmente alcançou
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+
+public final class DijkstraWorkspace {
+
+    private static final ThreadLocal<DijkstraWorkspace> LOCAL = ThreadLocal.withInitial(DijkstraWorkspace::new);
+    private static final ThreadLocal<DijkstraWorkspace> BACKWARD = ThreadLocal.withInitial(DijkstraWorkspace::new);
+
+    private int[] dist;
+    private int[] parent;
+    private int[] stamp;     // stamp[v] == generation -> dist/parent de v valem nesta busca
+    private int[] settled;   // settled[v] == generation -> v ja saiu do heap nesta busca
+    private int generation;
+    private final IndexedDaryHeap heap;
+    private final BucketQueue buckets; // motor Dial (pesos inteiros pequenos)
+    private int[] queue;               // motor BFS (todos os pesos 1)
+    private int[] order;               // nós na ordem em que foram assentados (busca limitada)
+
+    private DijkstraWorkspace() {
+        this.dist = new int[16];
+        this.parent = new int[16];
+        this.stamp = new int[16];
+        this.settled = new int[16];
+        this.generation = 0;
+        this.heap = new IndexedDaryHeap(16);
+        this.buckets = new BucketQueue();
+        this.queue = new int[16];
+        this.order = new int[16];
+    }
+
+    // ----- workspace da thread atual, ja limpo para uma busca em nós 0..nodesNum -----
+    public static DijkstraWorkspace acquire(int nodesNum) {
+        DijkstraWorkspace ws = LOCAL.get();
+        ws.reset(nodesNum);
+        return ws;
+    }
+
+    // ----- segundo workspace da thread, para o lado de tras da busca bidirecional -----
+    public static DijkstraWorkspace acquireBackward(int nodesNum) {
+        DijkstraWorkspace ws = BACKWARD.get();
+        ws.reset(nodesNum);
+        return ws;
+    }
+
+    // ----- começa uma busca nova -----
+    public void reset(int nodesNum) {
+        int capacity = nodesNum + 1;
+        if (capacity > stamp.length) {
+            int newCapacity = Math.max(capacity, stamp.length * 2);
+            dist = Arrays.copyOf(dist, newCapacity);
+            parent = Arrays.copyOf(parent, newCapacity);
+            stamp = Arrays.copyOf(stamp, newCapacity);
+            settled = Arrays.copyOf(settled, newCapacity);
+            queue = new int[newCapacity];
+            order = new int[newCapacity];
+            heap.ensureCapacity(newCapacity);
+        }
+        heap.clear();
+
+        generation++;
+        if (generation == Integer.MAX_VALUE) { // deu a volta: limpa de verdade uma vez
+            Arrays.fill(stamp, 0);
+            Arrays.fill(settled, 0);
+            generation = 1;
+        }
+    }
+
+    // ----- getters -----
+    public IndexedDaryHeap heap() { return heap; }
+    public BucketQueue buckets() { return buckets; }
+    public int[] queue() { return queue; }
+    public int[] order() { return order; }
+    public boolean isReached(int v) { return stamp[v] == generation; }
+    public int dist(int v) { return stamp[v] == generation ? dist[v] : Integer.MAX_VALUE; }
+    public int parent(int v) { return stamp[v] == generation ? parent[v] : -1; }
+    public boolean isSettled(int v) { return settled[v] == generation; }
+
+    // ----- marca v como assentado: a distancia dele não muda mais nesta busca -----
+    public void settle(int v) { settled[v] = generation; }
+
+    // ----- grava distancia e pai de v nesta busca -----
+    public void set(int v, int d, int p) {
+        stamp[v] = generation;
+        dist[v] = d;
+        parent[v] = p;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: distancias entre todos os pares de nós (1..getNodesNum()), de onde quer que venham:
+ * calculadas na memoria (FloydWarshall) ou lidas de um arquivo mapeado
+ */
+
+package src.Algorithms;
+
+public interface DistanceMatrix {
+
+    // quantidade de nós (ids 1..n)
+    int getNodesNum();
+
+    // menor custo de u ate v, Graph.INF se não tem caminho
+    int distance(int u, int v);
+}
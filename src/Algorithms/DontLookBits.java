@@ -0,0 +1,39 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: don't-look bits das buscas locais do caixeiro, como fila das cidades "acesas"
+ * a cidade sai da fila quando é testada; volta quando uma aresta encostada nela muda
+ */
+
+package src.Algorithms;
+
+final class DontLookBits {
+
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head = 0, size = 0;
+
+    // todas as cidades do ciclo começam acesas, na ordem do ciclo
+    DontLookBits(ArrayTour t) {
+        queue = new int[t.n];
+        queued = new boolean[t.maxCity() + 1];
+        for (int i = 0; i < t.n; i++) push(t.tour[i]);
+    }
+
+    boolean isEmpty() { return size == 0; }
+
+    int poll() {
+        int c = queue[head];
+        head = head + 1 == queue.length ? 0 : head + 1;
+        size--;
+        queued[c] = false;
+        return c;
+    }
+
+    void push(int c) {
+        if (queued[c]) return;
+        queued[c] = true;
+        queue[(head + size) % queue.length] = c;
+        size++;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: arvore de caminhos minimos que se conserta quando entra aresta (Ramalingam-Reps)
+ * aresta nova u -> v so pode diminuir distancias, e so dos nós cujo caminho passa a usar ela.
+ * então o conserto é um Dijkstra que começa em v e so anda por quem melhorou; o resto da
+ * arvore fica como estava. o desempate é o mesmo do Dijkstra (pai = predecessor justo de
+ * menor (d(u), u)), então o resultado é igual a recalcular do zero
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class DynamicShortestPathTree {
+
+    private final Graph graph;
+    private final int origin;
+    private int nodesNum;
+    private int graphVersion; // versão do grafo que a arvore representa
+    private int[] dist;
+    private int[] parent;
+
+    public Metrics metrics = new Metrics(); // ultima atualização (iterations = nós consertados)
+
+    // ----- calcula a arvore inicial da origem -----
+    public DynamicShortestPathTree(Graph graph, int origin) {
+        this.graph = graph;
+        this.origin = origin;
+        rebuild();
+    }
+
+    // ----- começa de uma arvore ja calculada (ex.: do ShortestPathTreeCache) -----
+    public DynamicShortestPathTree(Graph graph, ShortestPathTree tree) {
+        this.graph = graph;
+        this.origin = tree.getOrigin();
+        if (tree.getGraphVersion() != graph.getVersion()) {
+            rebuild();
+            return;
+        }
+        copy(tree);
+    }
+
+    // ----- getters -----
+    public int getOrigin() { return origin; }
+    public int getNodesNum() { return nodesNum; }
+    public int distance(int v) { return dist[v]; }
+    public int parent(int v) { return parent[v]; }
+
+    // a arvore ainda vale para o grafo (ninguem mexeu nele por fora)
+    public boolean isCurrent() { return graphVersion == graph.getVersion(); }
+
+    // ----- copia imutavel do estado atual -----
+    public ShortestPathTree snapshot() {
+        return new ShortestPathTree(origin, nodesNum, graphVersion, dist.clone(), parent.clone());
+    }
+
+    // ----- caminho origem -> target (refaz do zero se o grafo mudou por fora) -----
+    public PathResult pathTo(int target) {
+        if (!isCurrent()) rebuild();
+        return snapshotView().pathTo(target);
+    }
+
+    // ----- aumenta o numero de nós do grafo; nós novos começam inalcançaveis -----
+    public void setNodesNum(int n) {
+        boolean inSync = isCurrent();
+        graph.setNodesNum(n);
+        if (!inSync) {
+            rebuild();
+            return;
+        }
+        grow(graph.getNodesNum());
+        graphVersion = graph.getVersion();
+    }
+
+    // ----- insere a aresta no grafo e conserta so a parte da arvore afetada -----
+    // retorna quantos nós tiveram a distancia ou o pai trocados
+    public int insertEdge(int u, int v, int w) {
+        boolean inSync = isCurrent();
+        graph.insertEdge(u, v, w);
+        if (!inSync || w < 0) { // grafo mudou por fora ou peso negativo: so recalculando
+            rebuild();
+            return nodesNum;
+        }
+        grow(graph.toCsr().getNodesNum());
+        graphVersion = graph.getVersion();
+
+        metrics.reset();
+        metrics.start();
+        int changed = repair(graph.toCsr(), u, v, w);
+        metrics.sumIteration(changed);
+        metrics.stop();
+        return changed;
+    }
+
+    // ----- Dijkstra a partir de v, andando so pelos nós que melhoraram -----
+    private int repair(CsrGraph g, int u, int v, int w) {
+        if (dist[u] == Integer.MAX_VALUE || v == origin) return 0;
+        int dv = dist[u] + w;
+        if (dv > dist[v]) return 0;
+        if (dv == dist[v]) { // empate: a distancia fica, talvez troque o pai
+            if (!precedes(u, parent[v])) return 0;
+            parent[v] = u;
+            return 1;
+        }
+
+        IndexedDaryHeap heap = DijkstraWorkspace.acquire(nodesNum).heap();
+        dist[v] = dv;
+        parent[v] = u;
+        heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+
+        int changed = 0;
+        while (!heap.isEmpty()) {
+            int x = heap.poll();
+            changed++;
+            int dx = dist[x];
+
+            for (int k = g.outBegin(x); k < g.outEnd(x); k++) {
+                int y = g.target(k);
+                int dy = dx + g.weight(k);
+                if (dy < dist[y]) {
+                    dist[y] = dy;
+                    parent[y] = x;
+                    heap.insertOrDecrease(y, IndexedDaryHeap.key(dy, y));
+                } else if (dy == dist[y] && y != origin && precedes(x, parent[y])) {
+                    // y não melhorou, mas x ficou mais perto e virou o pai preferido
+                    if (!heap.contains(y)) changed++;
+                    parent[y] = x;
+                }
+            }
+        }
+        return changed;
+    }
+
+    // (d(a), a) < (d(b), b): regra de desempate do Dijkstra
+    private boolean precedes(int a, int b) {
+        return dist[a] < dist[b] || (dist[a] == dist[b] && a < b);
+    }
+
+    // ----- recalcula a arvore inteira -----
+    private void rebuild() {
+        metrics.reset();
+        metrics.start();
+        copy(Dijkstra.shortestPathTree(graph, origin));
+        metrics.sumIteration(nodesNum);
+        metrics.stop();
+    }
+
+    private void copy(ShortestPathTree tree) {
+        nodesNum = tree.getNodesNum();
+        dist = new int[nodesNum + 1];
+        parent = new int[nodesNum + 1];
+        for (int x = 0; x <= nodesNum; x++) {
+            dist[x] = tree.distance(x);
+            parent[x] = tree.parent(x);
+        }
+        graphVersion = tree.getGraphVersion();
+    }
+
+    private void grow(int n) {
+        if (n <= nodesNum) return;
+        dist = Arrays.copyOf(dist, n + 1);
+        parent = Arrays.copyOf(parent, n + 1);
+        Arrays.fill(dist, nodesNum + 1, n + 1, Integer.MAX_VALUE);
+        Arrays.fill(parent, nodesNum + 1, n + 1, -1);
+        nodesNum = n;
+    }
+
+    // visão sem copia, so para montar um caminho
+    private ShortestPathTree snapshotView() {
+        return new ShortestPathTree(origin, nodesNum, graphVersion, dist, parent);
+    }
+}
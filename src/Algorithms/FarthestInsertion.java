@@ -1,10 +1,11 @@
 package src.Algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import src.Core.Graph;
 
 /*
@@ -16,22 +17,42 @@ import src.Core.Graph;
 public class FarthestInsertion {
 
     private final Graph graph;
+    private final DistanceMatrix distances; // null = peso da aresta direto do grafo
     private final int nodesNum;
     public int gTotalCost;
 
+    // a partir desse numero de cidades as duas varreduras de cada passo rodam em paralelo
+    public static final int PARALLEL_THRESHOLD = 4096;
+    private int parallelThreshold = PARALLEL_THRESHOLD;
+    private static final int PARALLEL_BLOCK = 1024; // nós por tarefa do fork/join
+
     public Metrics metrics = new Metrics();
 
     public FarthestInsertion(Graph graph) {
+        this(graph, null);
+    }
+
+    // custo entre cidades vindo de uma matriz pronta (ex.: MappedDistanceMatrix), sem consultar o grafo
+    public FarthestInsertion(Graph graph, DistanceMatrix distances) {
         this.graph = graph;
+        this.distances = distances;
         this.nodesNum = graph.getNodesNum();
         gTotalCost = -1;
     }
     
     public int getTotalCost() { return gTotalCost; }
 
+    // Integer.MAX_VALUE força a versão sequencial; o ciclo sai igual nos dois casos
+    public void setParallelThreshold(int threshold) { this.parallelThreshold = threshold; }
+
     private int cost(int u, int v) {
         metrics.sumOperation(1); // acesso ao grafo conta como operação
-        return graph.getEdgeWeight(u, v);
+        return weight(u, v);
+    }
+
+    // mesmo custo sem contar operação: seguro nas varreduras em paralelo (a contagem é feita depois)
+    private int weight(int u, int v) {
+        return distances != null ? distances.distance(u, v) : graph.getEdgeWeight(u, v);
     }
 
     public PathResult findHamiltonianCycle() {
@@ -53,7 +74,7 @@ public class FarthestInsertion {
 
             int u = e.getNode1();
             int v = e.getNode2();
-            int w = e.getWeight();
+            int w = distances != null ? distances.distance(u, v) : e.getWeight();
 
             metrics.sumOperation(1);
 
@@ -69,108 +90,130 @@ public class FarthestInsertion {
         }
 
         // ----- Ciclo inicial -----
-        List<Integer> cycle = new ArrayList<>();
-        cycle.add(start);
-        cycle.add(second);
-        cycle.add(start);
-
-        // ----- Conjunto de não visitados -----
-        Set<Integer> unvisited = new HashSet<>();
-        for (int i = 1; i <= nodesNum; i++) {
-            metrics.sumIteration(1);
-            if (i != start && i != second) unvisited.add(i);
-        }
+        // ciclo em vetor na ordem a partir do start, com tour[tourSize] = start fechando a volta.
+        // edgeCost[k] = cost(tour[k], tour[k + 1]), para não consultar de novo a cada passo
+        int[] tour = new int[nodesNum + 1];
+        int[] edgeCost = new int[nodesNum + 1];
+        tour[0] = start;
+        tour[1] = second;
+        tour[2] = start;
+        edgeCost[0] = cost(start, second);
+        edgeCost[1] = cost(second, start);
+        int tourSize = 2;
+
+        // ----- distancia de cada não visitado ate o ciclo (menor cost(v, r) com v no ciclo) -----
+        // so precisa ser comparada com o nó que acabou de entrar, em vez do ciclo inteiro
+        int[] minDistToTour = new int[nodesNum + 1];
+        Arrays.fill(minDistToTour, Graph.INF);
+        boolean[] visited = new boolean[nodesNum + 1];
+        visited[start] = true;
+        visited[second] = true;
+        farthest(start, minDistToTour, visited);
+        int farthestNode = farthest(second, minDistToTour, visited);
 
         // ====== LOOP PRINCIPAL DE INSERÇÃO ======
-        while (!unvisited.isEmpty()) {
+        while (farthestNode != -1) {
 
             metrics.sumIteration(1);
 
-            int farthestNode = -1;
-            int maxMinDist = -1;
-
-            // --- achar o mais distante do ciclo ---
-            for (int r : unvisited) {
-                metrics.sumIteration(1);
-
-                int minDistToCycle = Graph.INF;
-
-                for (int v : cycle) {
-                    metrics.sumIteration(1);
-                    int d = cost(v, r);
-                    metrics.sumOperation(1);
-
-                    if (d < minDistToCycle) minDistToCycle = d;
-                }
-
-                metrics.sumOperation(1);
-                if (minDistToCycle != Graph.INF && minDistToCycle > maxMinDist) {
-                    farthestNode = r;
-                    maxMinDist = minDistToCycle;
-                }
+            // --- Inserção com menor custo: depois de tour[k] ---
+            int k = bestInsertion(tour, edgeCost, tourSize, farthestNode);
+
+            int inserted = -1;
+            if (k != -1) {
+                System.arraycopy(tour, k + 1, tour, k + 2, tourSize - k);
+                System.arraycopy(edgeCost, k + 1, edgeCost, k + 2, tourSize - k - 1);
+                tour[k + 1] = farthestNode;
+                edgeCost[k] = cost(tour[k], farthestNode);
+                edgeCost[k + 1] = cost(farthestNode, tour[k + 2]);
+                tourSize++;
+                inserted = farthestNode;
             }
 
-            if (farthestNode == -1) break;
-
-            // --- Inserção com menor custo ---
-            int bestI = -1;
-            int minCostIncrease = Graph.INF;
-
-            for (int k = 0; k < cycle.size() - 1; k++) {
-
-                metrics.sumIteration(1);
-
-                int i = cycle.get(k);
-                int j = cycle.get(k + 1);
-
-                int cost_ir = cost(i, farthestNode);
-                int cost_rj = cost(farthestNode, j);
-                int cost_ij = cost(i, j);
-
-                metrics.sumOperation(3);
-
-                if (cost_ir != Graph.INF && cost_rj != Graph.INF && cost_ij != Graph.INF) {
-                    int costIncrease = cost_ir + cost_rj - cost_ij;
-                    metrics.sumOperation(1);
-
-                    if (costIncrease < minCostIncrease) {
-                        bestI = i;
-                        minCostIncrease = costIncrease;
-                    }
-                }
-            }
-
-            if (bestI != -1) {
-                int insertionIndex = cycle.indexOf(bestI);
-                cycle.add(insertionIndex + 1, farthestNode);
-            }
-
-            unvisited.remove(farthestNode);
+            visited[farthestNode] = true;
+            farthestNode = farthest(inserted, minDistToTour, visited);
         }
 
-        // ====== Calcular custo total ======
+        // ====== Montar o ciclo e calcular custo total ======
+        List<Integer> cycle = new ArrayList<>(tourSize + 1);
         int totalCost = 0;
-
-        for (int i = 0; i < cycle.size() - 1; i++) {
+        for (int k = 0; k < tourSize; k++) {
             metrics.sumIteration(1);
+            cycle.add(tour[k]);
 
-            int u = cycle.get(i);
-            int v = cycle.get(i + 1);
-
-            int edgeCost = cost(u, v);
-            metrics.sumOperation(1);
-
-            if (edgeCost == Graph.INF) {
+            if (edgeCost[k] == Graph.INF) {
                 return new PathResult(null, Graph.INF);
             }
 
-            totalCost += edgeCost;
+            totalCost += edgeCost[k];
         }
+        cycle.add(start);
 
         metrics.stop();
-        System.out.println("[FI]Total Cost: " + totalCost + "\n[FI]" + metrics.toString());
+        System.out.println("[FI]Total Cost: " + totalCost + "\n[FI]" + metrics.toString()
+                + (nodesNum >= parallelThreshold ? " (paralelo)" : ""));
         gTotalCost = totalCost;
         return new PathResult(cycle, totalCost, metrics);
     }
 
-}
\ No newline at end of file
+    // ----- atualiza minDistToTour com o nó inserido (-1 = nenhum) e devolve o não visitado mais distante -----
+    // empate: menor id. a chave (distancia, -id) num long faz o max dos blocos dar o mesmo que a varredura inteira
+    private int farthest(int inserted, int[] minDistToTour, boolean[] visited) {
+        long best = reduce(1, nodesNum + 1, true, (from, to) -> farthestIn(from, to, inserted, minDistToTour, visited));
+        metrics.sumIteration(nodesNum);
+        if (inserted != -1) metrics.sumOperation(nodesNum);
+        return best == Long.MIN_VALUE ? -1 : Integer.MAX_VALUE - (int) (best & 0xFFFFFFFFL);
+    }
+
+    private long farthestIn(int from, int to, int inserted, int[] minDistToTour, boolean[] visited) {
+        long best = Long.MIN_VALUE;
+        for (int r = from; r < to; r++) {
+            if (visited[r]) continue;
+            int d = minDistToTour[r];
+            if (inserted != -1) {
+                int w = weight(inserted, r);
+                if (w < d) minDistToTour[r] = d = w;
+            }
+            if (d == Graph.INF || d < 0) continue;
+            long key = ((long) d << 32) | (Integer.MAX_VALUE - r);
+            if (key > best) best = key;
+        }
+        return best;
+    }
+
+    // ----- posição k do ciclo onde inserir r custa menos (empate: menor k), -1 se nenhuma serve -----
+    private int bestInsertion(int[] tour, int[] edgeCost, int tourSize, int r) {
+        long best = reduce(0, tourSize, false, (from, to) -> bestInsertionIn(from, to, tour, edgeCost, r));
+        metrics.sumIteration(tourSize);
+        metrics.sumOperation(2L * tourSize);
+        return best == Long.MAX_VALUE ? -1 : (int) (best & 0xFFFFFFFFL);
+    }
+
+    private long bestInsertionIn(int from, int to, int[] tour, int[] edgeCost, int r) {
+        long best = Long.MAX_VALUE;
+        for (int k = from; k < to; k++) {
+            int cost_ir = weight(tour[k], r);
+            int cost_rj = weight(r, tour[k + 1]);
+            int cost_ij = edgeCost[k];
+            if (cost_ir == Graph.INF || cost_rj == Graph.INF || cost_ij == Graph.INF) continue;
+            int costIncrease = cost_ir + cost_rj - cost_ij;
+            long key = ((long) costIncrease << 32) | k;
+            if (key < best) best = key;
+        }
+        return best;
+    }
+
+    // varredura de [from, to) em um bloco ou, acima do limite, em blocos no ForkJoinPool.
+    // as chaves não dependem de quem calculou, então max/min dos blocos = resultado sequencial
+    private long reduce(int from, int to, boolean max, RangeScan scan) {
+        if (to - from < parallelThreshold) return scan.apply(from, to);
+        int blocks = (to - from + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK;
+        LongStream partial = IntStream.range(0, blocks).parallel()
+                .mapToLong(b -> scan.apply(from + b * PARALLEL_BLOCK, Math.min(to, from + (b + 1) * PARALLEL_BLOCK)));
+        return max ? partial.max().getAsLong() : partial.min().getAsLong();
+    }
+
+    private interface RangeScan {
+        long apply(int from, int to);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: Floyd-Warshall em blocos, paralelo, sobre uma matriz plana de int
+ * a matriz é dividida em blocos B x B. para cada bloco k da diagonal:
+ *   fase 1: o proprio bloco (k, k)
+ *   fase 2: os blocos da linha k e da coluna k (dependem so do (k, k)), em paralelo
+ *   fase 3: todo o resto (depende so da linha e da coluna k), em paralelo
+ * cada bloco cabe na cache, e dentro de uma fase nenhum bloco escreve no que outro le
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class FloydWarshall {
+
+    public static final int DEFAULT_BLOCK = 64; // 3 blocos de 64 x 64 int = 48 KB
+
+    private final int n;
+    private final int block;
+    private final int[] dist;
+    private final int[] next;
+
+    private FloydWarshall(int n, int block, int[] dist, int[] next) {
+        this.n = n;
+        this.block = block;
+        this.dist = dist;
+        this.next = next;
+    }
+
+    // ----- todos os pares do grafo (arestas paralelas: vale a mais leve) -----
+    public static ApspMatrix compute(Graph graph) {
+        return compute(graph, DEFAULT_BLOCK);
+    }
+
+    public static ApspMatrix compute(Graph graph, int block) {
+        if (block < 1) throw new IllegalArgumentException("bloco deve ser >= 1");
+        Metrics m = new Metrics();
+        m.start();
+
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
+        int[] dist = new int[n * n];
+        int[] next = new int[n * n];
+        Arrays.fill(dist, Graph.INF);
+        Arrays.fill(next, -1);
+
+        for (int u = 1; u <= n; u++) {
+            int row = (u - 1) * n;
+            dist[row + u - 1] = 0;
+            next[row + u - 1] = u;
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (v != u && g.weight(k) < dist[row + v - 1]) {
+                    dist[row + v - 1] = g.weight(k);
+                    next[row + v - 1] = v;
+                }
+            }
+        }
+
+        new FloydWarshall(n, Math.min(block, Math.max(n, 1)), dist, next).run();
+
+        ApspMatrix result = new ApspMatrix(n, dist, next);
+        m.sumIteration((long) n * n * n);
+        m.stop();
+        result.metrics = m;
+        return result;
+    }
+
+    private void run() {
+        int blocks = (n + block - 1) / block;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+
+            // fase 1: bloco da diagonal
+            relax(k, k, k);
+
+            // fase 2: linha k e coluna k
+            IntStream.range(0, 2 * blocks).parallel().forEach(x -> {
+                int b = x >> 1;
+                if (b == k) return;
+                if ((x & 1) == 0) relax(k, b, k);
+                else relax(b, k, k);
+            });
+
+            // fase 3: o resto
+            IntStream.range(0, blocks * blocks).parallel().forEach(x -> {
+                int ib = x / blocks, jb = x % blocks;
+                if (ib != k && jb != k) relax(ib, jb, k);
+            });
+        }
+    }
+
+    // ----- relaxa o bloco (ib, jb) passando pelos nós intermediarios do bloco kb -----
+    private void relax(int ib, int jb, int kb) {
+        // campos em variaveis locais: o JIT não precisa reler a cada escrita nos vetores
+        final int n = this.n, block = this.block;
+        final int[] dist = this.dist, next = this.next;
+        int iEnd = Math.min((ib + 1) * block, n);
+        int jBegin = jb * block, jEnd = Math.min((jb + 1) * block, n);
+        int kEnd = Math.min((kb + 1) * block, n);
+
+        for (int k = kb * block; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = ib * block; i < iEnd; i++) {
+                int iRow = i * n;
+                int dik = dist[iRow + k];
+                if (dik >= Graph.INF) continue;
+                int hop = next[iRow + k];
+                for (int j = jBegin; j < jEnd; j++) {
+                    int dkj = dist[kRow + j];
+                    if (dkj >= Graph.INF) continue; // com dik negativo a soma cairia abaixo de INF
+                    int d = dik + dkj;
+                    if (d < dist[iRow + j]) {
+                        dist[iRow + j] = d;
+                        next[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+}
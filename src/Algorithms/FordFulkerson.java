@@ -10,12 +10,14 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import src.Core.CsrGraph;
 import src.Core.Edge;
 import src.Core.Graph;
 
 public class FordFulkerson {
     public static int maxFlow(Graph g, int source, int sink) {
         int n = g.getNodesNum();
+        CsrGraph csr = g.toCsr();
         int[][] capacity = new int[n + 1][n + 1];
         int[][] flow = new int[n + 1][n + 1];
 
@@ -34,9 +36,19 @@ public class FordFulkerson {
             queue.add(source);
             parent[source] = source;
 
+            // so existe capacidade residual em u->v se ha aresta u->v ou v->u,
+            // entao basta olhar as arestas de saida e de entrada de u no CSR
             while (!queue.isEmpty() && parent[sink] == -1) {
                 int u = queue.poll();
-                for (int v = 1; v <= n; v++) {
+                for (int k = csr.outBegin(u); k < csr.outEnd(u); k++) {
+                    int v = csr.target(k);
+                    if (capacity[u][v] - flow[u][v] > 0 && parent[v] == -1) {
+                        parent[v] = u;
+                        queue.add(v);
+                    }
+                }
+                for (int k = csr.inBegin(u); k < csr.inEnd(u); k++) {
+                    int v = csr.source(k);
                     if (capacity[u][v] - flow[u][v] > 0 && parent[v] == -1) {
                         parent[v] = u;
                         queue.add(v);
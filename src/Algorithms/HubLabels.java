@@ -0,0 +1,287 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: oraculo de distancias por rotulos de hubs (pruned landmark labeling, Akiba et al.)
+ * cada nó guarda dois rotulos: out(v) = {(h, d(v, h))} e in(v) = {(h, d(h, v))}.
+ * d(s, t) = min sobre os hubs h em comum de out(s)[h] + in(t)[h], um merge de dois vetores
+ * ordenados. os hubs são processados do mais importante pro menos (ordem da Contraction
+ * Hierarchy); a busca de cada hub é podada onde os rotulos que ja existem ja dão a distancia
+ */
+
+package src.Algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class HubLabels implements DistanceMatrix {
+
+    private static final int MAGIC = 0x4C425548; // "HUBL"
+    private static final int FORMAT = 2; // 2: hash do grafo no cabeçalho
+
+    private static final Map<Graph, HubLabels> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int nodesNum;
+    private final int graphVersion; // contador de mudanças do Graph: so vale neste processo (cache)
+    private final long graphHash;   // CsrGraph.contentHash(): identifica o grafo no arquivo
+    private final int[] hubNode;    // hubNode[i] = nó do i-esimo hub (i = posição na ordem)
+
+    // rotulos em CSR: entradas de v em [offsets[v], offsets[v + 1]), hubs em ordem crescente
+    private final int[] outOffsets, outHubs, outDists; // d(v, hub)
+    private final int[] inOffsets, inHubs, inDists;    // d(hub, v)
+
+    public Metrics metrics = new Metrics(); // tempo da construção
+
+    private HubLabels(int nodesNum, int graphVersion, long graphHash, int[] hubNode,
+                      int[] outOffsets, int[] outHubs, int[] outDists,
+                      int[] inOffsets, int[] inHubs, int[] inDists) {
+        this.nodesNum = nodesNum;
+        this.graphVersion = graphVersion;
+        this.graphHash = graphHash;
+        this.hubNode = hubNode;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outDists = outDists;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inDists = inDists;
+    }
+
+    // ----- rotulos do grafo, construidos uma vez por versão -----
+    public static HubLabels forGraph(Graph graph) {
+        synchronized (CACHE) {
+            HubLabels labels = CACHE.get(graph);
+            if (labels == null || labels.graphVersion != graph.getVersion()) {
+                labels = build(graph);
+                CACHE.put(graph, labels);
+            }
+            return labels;
+        }
+    }
+
+    // ----- constroi com a ordem da Contraction Hierarchy (maior rank = hub mais importante) -----
+    public static HubLabels build(Graph graph) {
+        ContractionHierarchy ch = ContractionHierarchy.forGraph(graph);
+        int n = graph.toCsr().getNodesNum();
+        Integer[] nodes = new Integer[n];
+        for (int v = 1; v <= n; v++) nodes[v - 1] = v;
+        Arrays.sort(nodes, (a, b) -> Integer.compare(ch.getRank(b), ch.getRank(a)));
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = nodes[i];
+        return build(graph, order);
+    }
+
+    // ----- constroi com uma ordem qualquer de todos os nós (order[0] = hub mais importante) -----
+    public static HubLabels build(Graph graph, int[] order) {
+        Metrics m = new Metrics();
+        m.start();
+
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
+        if (order.length != n) throw new IllegalArgumentException("ordem precisa ter os " + n + " nós");
+
+        Label[] out = new Label[n + 1];
+        Label[] in = new Label[n + 1];
+        for (int v = 1; v <= n; v++) {
+            out[v] = new Label();
+            in[v] = new Label();
+        }
+
+        int[] hubDist = new int[n]; // rotulo do hub atual espalhado por indice de hub
+        Arrays.fill(hubDist, Graph.INF);
+
+        for (int i = 0; i < n; i++) {
+            int h = order[i];
+            // para frente: quem h alcança ganha (i, d(h, v)) em in(v)
+            prunedSearch(g, h, i, false, out[h], in, hubDist);
+            // para tras: quem alcança h ganha (i, d(v, h)) em out(v)
+            prunedSearch(g, h, i, true, in[h], out, hubDist);
+        }
+
+        int[] outOffsets = new int[n + 2], inOffsets = new int[n + 2];
+        for (int v = 1; v <= n; v++) {
+            outOffsets[v + 1] = outOffsets[v] + out[v].size;
+            inOffsets[v + 1] = inOffsets[v] + in[v].size;
+        }
+        int[] outHubs = new int[outOffsets[n + 1]], outDists = new int[outOffsets[n + 1]];
+        int[] inHubs = new int[inOffsets[n + 1]], inDists = new int[inOffsets[n + 1]];
+        for (int v = 1; v <= n; v++) {
+            System.arraycopy(out[v].hub, 0, outHubs, outOffsets[v], out[v].size);
+            System.arraycopy(out[v].dist, 0, outDists, outOffsets[v], out[v].size);
+            System.arraycopy(in[v].hub, 0, inHubs, inOffsets[v], in[v].size);
+            System.arraycopy(in[v].dist, 0, inDists, inOffsets[v], in[v].size);
+        }
+
+        HubLabels labels = new HubLabels(n, graph.getVersion(), g.contentHash(), order.clone(),
+                outOffsets, outHubs, outDists, inOffsets, inHubs, inDists);
+        m.sumIteration(outHubs.length + inHubs.length);
+        m.stop();
+        labels.metrics = m;
+        return labels;
+    }
+
+    // Dijkstra a partir do hub i (nó h); para em v quando os rotulos de antes ja dão d <= dist
+    private static void prunedSearch(CsrGraph g, int h, int i, boolean reverse,
+                                     Label hubLabel, Label[] labels, int[] hubDist) {
+        for (int k = 0; k < hubLabel.size; k++) hubDist[hubLabel.hub[k]] = hubLabel.dist[k];
+        hubDist[i] = 0;
+
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(g.getNodesNum());
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(h, 0, h);
+        heap.insertOrDecrease(h, IndexedDaryHeap.key(0, h));
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            int du = ws.dist(u);
+
+            // poda: algum hub anterior ja cobre o par (h, u)
+            Label lu = labels[u];
+            boolean covered = false;
+            for (int k = 0; k < lu.size && !covered; k++) {
+                covered = hubDist[lu.hub[k]] + lu.dist[k] <= du;
+            }
+            if (covered) continue;
+            lu.add(i, du);
+
+            int begin = reverse ? g.inBegin(u) : g.outBegin(u);
+            int end = reverse ? g.inEnd(u) : g.outEnd(u);
+            for (int k = begin; k < end; k++) {
+                int v = reverse ? g.source(k) : g.target(k);
+                int dv = du + (reverse ? g.inWeight(k) : g.weight(k));
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                }
+            }
+        }
+
+        for (int k = 0; k < hubLabel.size; k++) hubDist[hubLabel.hub[k]] = Graph.INF;
+        hubDist[i] = Graph.INF;
+    }
+
+    // ----- getters -----
+    @Override
+    public int getNodesNum() { return nodesNum; }
+    public int getGraphVersion() { return graphVersion; }
+    public long getGraphHash() { return graphHash; }
+    public int getHubNode(int i) { return hubNode[i]; }
+    public int outLabelSize(int v) { return outOffsets[v + 1] - outOffsets[v]; }
+    public int inLabelSize(int v) { return inOffsets[v + 1] - inOffsets[v]; }
+    public long labelEntries() { return (long) outHubs.length + inHubs.length; }
+
+    // ----- distancia s -> t: merge dos dois rotulos ordenados por hub -----
+    @Override
+    public int distance(int s, int t) {
+        int a = outOffsets[s], aEnd = outOffsets[s + 1];
+        int b = inOffsets[t], bEnd = inOffsets[t + 1];
+        int best = Graph.INF;
+        while (a < aEnd && b < bEnd) {
+            int ha = outHubs[a], hb = inHubs[b];
+            if (ha == hb) {
+                int d = outDists[a++] + inDists[b++];
+                if (d < best) best = d;
+            } else if (ha < hb) {
+                a++;
+            } else {
+                b++;
+            }
+        }
+        return best;
+    }
+
+    // ----- memoria -----
+    // cada entrada são dois int (hub e distancia); offsets de out e in somam mais dois int por nó
+    public long memoryBytes() {
+        return 8L * labelEntries() + 4L * (outOffsets.length + inOffsets.length + hubNode.length);
+    }
+
+    public double bytesPerNode() {
+        return nodesNum == 0 ? 0 : (double) memoryBytes() / nodesNum;
+    }
+
+    public String memoryReport() {
+        int maxLabel = 0;
+        for (int v = 1; v <= nodesNum; v++) maxLabel = Math.max(maxLabel, Math.max(outLabelSize(v), inLabelSize(v)));
+        return String.format("[HL] nodes=%d entries=%d avgLabel=%.1f maxLabel=%d bytes/node=%.1f total=%.2f MB",
+                nodesNum, labelEntries(), nodesNum == 0 ? 0.0 : labelEntries() / (2.0 * nodesNum), maxLabel,
+                bytesPerNode(), memoryBytes() / (1024.0 * 1024.0));
+    }
+
+    // ===================== SERIALIZAÇÃO =====================
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(nodesNum);
+            out.writeLong(graphHash);
+            writeArray(out, hubNode);
+            writeArray(out, outOffsets);
+            writeArray(out, outHubs);
+            writeArray(out, outDists);
+            writeArray(out, inOffsets);
+            writeArray(out, inHubs);
+            writeArray(out, inDists);
+        }
+    }
+
+    // ----- le rotulos gravados para este grafo -----
+    // o cabeçalho precisa bater com o grafo atual (numero de nós e contentHash); se bater os
+    // rotulos passam a valer para a versão atual e entram no cache do forGraph
+    public static HubLabels load(Path file, Graph graph) throws IOException {
+        CsrGraph g = graph.toCsr();
+        HubLabels labels;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) throw new IOException("Arquivo não é de rotulos: " + file);
+            int n = in.readInt();
+            long hash = in.readLong();
+            if (n != g.getNodesNum() || hash != g.contentHash()) {
+                throw new IOException("Rotulos de outro grafo: " + file);
+            }
+            labels = new HubLabels(n, graph.getVersion(), hash, readArray(in), readArray(in), readArray(in),
+                    readArray(in), readArray(in), readArray(in), readArray(in));
+        }
+        CACHE.put(graph, labels);
+        return labels;
+    }
+
+    private static void writeArray(DataOutputStream out, int[] a) throws IOException {
+        out.writeInt(a.length);
+        for (int x : a) out.writeInt(x);
+    }
+
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int[] a = new int[in.readInt()];
+        for (int i = 0; i < a.length; i++) a[i] = in.readInt();
+        return a;
+    }
+
+    // rotulo em construção (vetores que crescem)
+    private static final class Label {
+        int[] hub = new int[4];
+        int[] dist = new int[4];
+        int size = 0;
+
+        void add(int h, int d) {
+            if (size == hub.length) {
+                hub = Arrays.copyOf(hub, size * 2);
+                dist = Arrays.copyOf(dist, size * 2);
+            }
+            hub[size] = h;
+            dist[size] = d;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: heap d-ario indexado (min-heap) com decrease-key
+ * cada nó aparece no maximo uma vez e pos[] diz onde ele esta no heap
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+
+public final class IndexedDaryHeap {
+
+    private static final int D = 4; // 4 filhos por nó: arvore mais rasa e melhor uso de cache que o binario
+
+    private int[] nodes;  // nodes[i] = nó na posição i do heap
+    private long[] keys;  // keys[i] = chave do nó na posição i
+    private int[] pos;    // pos[node] = posição no heap ou -1
+    private int size;
+
+    // ----- construtor: aceita nós 0..capacity-1 -----
+    public IndexedDaryHeap(int capacity) {
+        this.nodes = new int[Math.max(capacity, 1)];
+        this.keys = new long[Math.max(capacity, 1)];
+        this.pos = new int[Math.max(capacity, 1)];
+        Arrays.fill(pos, -1);
+        this.size = 0;
+    }
+
+    // ----- chave padrão do Dijkstra: (distancia, nó) empacotados -----
+    // empatou na distancia, sai o menor nó (mesma ordem da varredura antiga)
+    public static long key(int dist, int node) {
+        return ((long) dist << 32) | node;
+    }
+
+    // ----- getters -----
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int node) { return pos[node] >= 0; }
+    public int peek() { return nodes[0]; }
+    public long peekKey() { return keys[0]; }
+    public int capacity() { return pos.length; }
+
+    // ----- insere ou diminui a chave do nó -----
+    public void insertOrDecrease(int node, long key) {
+        int i = pos[node];
+        if (i < 0) {
+            i = size++;
+            nodes[i] = node;
+            keys[i] = key;
+            pos[node] = i;
+            siftUp(i);
+        } else if (key < keys[i]) {
+            keys[i] = key;
+            siftUp(i);
+        }
+    }
+
+    // ----- insere ou troca a chave do nó (pode aumentar ou diminuir) -----
+    public void update(int node, long key) {
+        int i = pos[node];
+        if (i < 0 || key < keys[i]) {
+            insertOrDecrease(node, key);
+        } else if (key > keys[i]) {
+            keys[i] = key;
+            siftDown(i);
+        }
+    }
+
+    // ----- remove e retorna o nó de menor chave -----
+    public int poll() {
+        int top = nodes[0];
+        pos[top] = -1;
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            keys[0] = keys[size];
+            pos[nodes[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // ----- esvazia em O(size), sem varrer a capacidade toda -----
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[nodes[i]] = -1;
+        size = 0;
+    }
+
+    // ----- aumenta a capacidade mantendo o conteudo -----
+    public void ensureCapacity(int capacity) {
+        if (capacity <= pos.length) return;
+        int old = pos.length;
+        nodes = Arrays.copyOf(nodes, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        pos = Arrays.copyOf(pos, capacity);
+        Arrays.fill(pos, old, capacity, -1);
+    }
+
+    private void siftUp(int i) {
+        int node = nodes[i];
+        long key = keys[i];
+        while (i > 0) {
+            int p = (i - 1) / D;
+            if (keys[p] <= key) break;
+            nodes[i] = nodes[p];
+            keys[i] = keys[p];
+            pos[nodes[i]] = i;
+            i = p;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+        pos[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = nodes[i];
+        long key = keys[i];
+        while (true) {
+            int first = i * D + 1;
+            if (first >= size) break;
+            int last = Math.min(first + D, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < keys[best]) best = c;
+            }
+            if (keys[best] >= key) break;
+            nodes[i] = nodes[best];
+            keys[i] = keys[best];
+            pos[nodes[i]] = i;
+            i = best;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+        pos[node] = i;
+    }
+}
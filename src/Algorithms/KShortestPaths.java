@@ -0,0 +1,186 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: k caminhos minimos sem ciclo (Yen, com a otimização de Lawler)
+ * cada caminho aceito gera candidatos desviando dele em cada nó (spur): a raiz ate o nó fica
+ * igual, os nós da raiz e as arestas que outros caminhos aceitos ja usaram a partir dela ficam
+ * proibidos, e um Dijkstra acha o resto. Lawler: so desvia a partir do nó onde o caminho
+ * aceito desviou do pai dele, porque os desvios antes disso ja foram gerados.
+ * as buscas de spur de um mesmo caminho rodam em paralelo, cada uma no workspace da sua thread
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public class KShortestPaths {
+
+    // candidato: caminho, custo e nó onde ele desviou do caminho que o gerou
+    private static final class Candidate implements Comparable<Candidate> {
+        final int[] path;
+        final int cost;
+        final int deviation;
+
+        Candidate(int[] path, int cost, int deviation) {
+            this.path = path;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        // custo, depois o caminho em ordem lexicografica (resultado não depende das threads)
+        @Override
+        public int compareTo(Candidate o) {
+            if (cost != o.cost) return Integer.compare(cost, o.cost);
+            for (int i = 0; i < Math.min(path.length, o.path.length); i++) {
+                if (path[i] != o.path[i]) return Integer.compare(path[i], o.path[i]);
+            }
+            return Integer.compare(path.length, o.path.length);
+        }
+    }
+
+    // ----- ate k caminhos origem -> target em ordem crescente de custo -----
+    // o primeiro é o mesmo do Dijkstra.findPathToTarget; lista vazia se não tem caminho
+    public static List<PathResult> find(Graph graph, int origin, int target, int k) {
+        Metrics m = new Metrics();
+        m.start();
+
+        CsrGraph g = graph.toCsr();
+        List<PathResult> result = new ArrayList<>();
+        if (k <= 0) {
+            m.stop();
+            return result;
+        }
+
+        PathResult first = Dijkstra.findPathToTarget(graph, origin, target);
+        if (first.path == null) {
+            m.stop();
+            return result;
+        }
+
+        ArrayList<int[]> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        HashSet<List<Integer>> seen = new HashSet<>();
+        seen.add(first.path);
+
+        Candidate current = new Candidate(toArray(first.path), first.totalCost, 0);
+        while (true) {
+            accepted.add(current.path);
+            result.add(new PathResult(toList(current.path), current.cost, m));
+            if (accepted.size() == k) break;
+
+            int[] path = current.path;
+            int[] prefixCost = prefixCosts(g, path);
+
+            // um desvio por nó do caminho a partir do ponto de desvio (Lawler)
+            Candidate[] spurs = new Candidate[path.length];
+            IntStream.range(current.deviation, path.length - 1).parallel().forEach(i ->
+                spurs[i] = spur(g, path, i, prefixCost[i], accepted, target));
+            m.sumIteration(path.length - 1 - current.deviation);
+
+            for (Candidate c : spurs) {
+                if (c != null && seen.add(toList(c.path))) candidates.add(c);
+            }
+            if (candidates.isEmpty()) break;
+            current = candidates.poll();
+        }
+
+        m.stop();
+        return result;
+    }
+
+    // ----- caminho raiz path[0..i] + menor caminho de path[i] ate o target sem repetir a raiz -----
+    private static Candidate spur(CsrGraph g, int[] path, int i, int rootCost, List<int[]> accepted, int target) {
+        int spurNode = path[i];
+
+        // arestas proibidas: as que saem do spur em caminhos aceitos com a mesma raiz
+        int[] bannedNext = new int[accepted.size()];
+        int banned = 0;
+        for (int[] a : accepted) {
+            if (a.length > i + 1 && samePrefix(a, path, i)) bannedNext[banned++] = a[i + 1];
+        }
+
+        DijkstraWorkspace ws = DijkstraWorkspace.acquire(g.getNodesNum());
+        // nós da raiz (menos o spur) entram como ja alcançados com distancia minima:
+        // nenhum relaxamento consegue melhorar, então a busca nunca passa por eles
+        for (int j = 0; j < i; j++) ws.set(path[j], Integer.MIN_VALUE, -1);
+
+        IndexedDaryHeap heap = ws.heap();
+        ws.set(spurNode, 0, spurNode);
+        heap.insertOrDecrease(spurNode, IndexedDaryHeap.key(0, spurNode));
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == target) break;
+            int du = ws.dist(u);
+
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (u == spurNode && contains(bannedNext, banned, v)) continue;
+                int dv = du + g.weight(k);
+                if (dv < ws.dist(v)) {
+                    ws.set(v, dv, u);
+                    heap.insertOrDecrease(v, IndexedDaryHeap.key(dv, v));
+                }
+            }
+        }
+        if (!ws.isReached(target)) return null;
+
+        // raiz + caminho do spur (o spur não repete)
+        ArrayList<Integer> tail = new ArrayList<>();
+        for (int curr = target; curr != spurNode; curr = ws.parent(curr)) tail.add(curr);
+        int[] full = new int[i + 1 + tail.size()];
+        System.arraycopy(path, 0, full, 0, i + 1);
+        for (int j = 0; j < tail.size(); j++) full[i + 1 + j] = tail.get(tail.size() - 1 - j);
+
+        return new Candidate(full, rootCost + ws.dist(target), i);
+    }
+
+    // custo acumulado ate cada posição do caminho (aresta paralela: vale a mais leve)
+    private static int[] prefixCosts(CsrGraph g, int[] path) {
+        int[] cost = new int[path.length];
+        for (int i = 1; i < path.length; i++) {
+            cost[i] = cost[i - 1] + edgeWeight(g, path[i - 1], path[i]);
+        }
+        return cost;
+    }
+
+    private static int edgeWeight(CsrGraph g, int u, int v) {
+        int best = Integer.MAX_VALUE;
+        for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+            if (g.target(k) == v) best = Math.min(best, g.weight(k));
+        }
+        return best;
+    }
+
+    private static boolean samePrefix(int[] a, int[] b, int i) {
+        for (int j = 0; j <= i; j++) {
+            if (a[j] != b[j]) return false;
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] values, int size, int v) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == v) return true;
+        }
+        return false;
+    }
+
+    private static int[] toArray(List<Integer> path) {
+        int[] a = new int[path.size()];
+        for (int i = 0; i < a.length; i++) a[i] = path.get(i);
+        return a;
+    }
+
+    private static List<Integer> toList(int[] path) {
+        ArrayList<Integer> list = new ArrayList<>(path.length);
+        for (int v : path) list.add(v);
+        return list;
+    }
+}
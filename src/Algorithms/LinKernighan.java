@@ -0,0 +1,228 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: melhoria de ciclo no estilo Lin-Kernighan (profundidade variavel)
+ * a partir de t1 tira a aresta (t1, t2) e vai encadeando movimentos 2-opt: põe (t2, t3) com
+ * t3 entre os candidatos de t2, tira (t3, t4) e fecha o ciclo com (t4, t1). t4 vira o novo
+ * t2 enquanto o ganho parcial continua positivo, ate MAX_DEPTH niveis. no fim fica o melhor
+ * prefixo da cadeia (ou desfaz tudo). nos primeiros niveis testa mais de um t3 (BREADTH).
+ * cadeias de 2 e 3 movimentos cobrem os 3-opt sequenciais (inclusive o Or-3opt, mover um
+ * trecho de lugar). roda ate as cidades acabarem ou o tempo (budget) estourar: anytime.
+ * mesma fonte de custo do FarthestInsertion (getEdgeWeight) ou do AntColony (DistanceMatrix).
+ * como no TourLocalSearch os ganhos usam max(w(u, v), w(v, u)), então a busca termina tambem
+ * em grafo dirigido. os candidatos vêm das arestas do grafo; so uma matriz sem arestas olha
+ * todos os pares (O(n²)), então para 100k cidades passe um grafo esparso de vizinhos
+ */
+
+package src.Algorithms;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntBinaryOperator;
+import src.Core.Graph;
+
+public class LinKernighan {
+
+    public static final int DEFAULT_NEIGHBOURS = 8;
+    public static final int MAX_DEPTH = 50;
+    private static final int[] BREADTH = {5, 3, 1}; // alternativas de t3 por nivel (depois do ultimo: 1)
+
+    private final Graph graph;
+    private final DistanceMatrix distances; // null = peso da aresta direto do grafo
+    private final IntBinaryOperator cost; // custo dirigido (tamanho do ciclo)
+    private final long budgetNanos;
+    private int neighboursPerCity = DEFAULT_NEIGHBOURS;
+
+    private ArrayTour t;
+    private int[][] neighbours;
+    private DontLookBits active;
+
+    // cadeia atual: movimento k = (t1, t2[k], t3[k], t4[k])
+    private final int[] chainT2 = new int[MAX_DEPTH];
+    private final int[] chainT3 = new int[MAX_DEPTH];
+    private final int[] chainT4 = new int[MAX_DEPTH];
+    private int chainSize;
+    private long bestGain;
+    private int bestDepth;
+
+    private int initialCost = -1;
+    private int finalCost = -1;
+    private boolean timedOut;
+
+    public Metrics metrics = new Metrics(); // iterations = cadeias aceitas, operations = movimentos tentados
+
+    // budgetMillis: tempo maximo de parede; ao estourar devolve o melhor ciclo ate ali
+    public LinKernighan(Graph graph, long budgetMillis) {
+        this(graph, null, budgetMillis);
+    }
+
+    public LinKernighan(Graph graph, DistanceMatrix distances, long budgetMillis) {
+        this.graph = graph;
+        this.distances = distances;
+        this.cost = distances != null ? distances::distance : graph::getEdgeWeight;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis); // satura em Long.MAX_VALUE
+    }
+
+    public void setNeighboursPerCity(int k) { this.neighboursPerCity = k; }
+
+    // ----- getters -----
+    public int getInitialCost() { return initialCost; }
+    public int getFinalCost() { return finalCost; }
+    public int getImprovement() { return initialCost - finalCost; }
+    public boolean isTimedOut() { return timedOut; }
+
+    public String report() {
+        double percent = initialCost > 0 ? 100.0 * getImprovement() / initialCost : 0.0;
+        return String.format("[LK] %d -> %d (-%.2f%%) chains=%d%s %s", initialCost, finalCost, percent,
+                metrics.getIterations(), timedOut ? " (tempo esgotado)" : "", metrics.toString());
+    }
+
+    // custo simetrico dos ganhos
+    private int cost(int u, int v) {
+        return Math.max(cost.applyAsInt(u, v), cost.applyAsInt(v, u));
+    }
+
+    // ----- melhora o ciclo do resultado (fechado: ultimo = primeiro) -----
+    public PathResult optimize(PathResult result) {
+        return optimize(result.path);
+    }
+
+    public PathResult optimize(List<Integer> cycle) {
+        metrics = new Metrics();
+        metrics.start();
+        long start = metrics.getStartTime();
+        timedOut = false;
+
+        if (cycle == null || cycle.size() < 2) {
+            metrics.stop();
+            return new PathResult(cycle, cycle == null ? Graph.INF : 0, metrics);
+        }
+
+        t = new ArrayTour(cycle);
+        int[] original = t.tour.clone();
+        initialCost = t.length(cost);
+
+        if (t.n >= 5) {
+            neighbours = distances == null || graph.toCsr().getEdgesNum() > 0
+                    ? NeighbourLists.graphEdges(t, graph, distances, neighboursPerCity)
+                    : NeighbourLists.allPairs(t, distances, neighboursPerCity);
+            active = new DontLookBits(t);
+            while (!active.isEmpty()) {
+                if (System.nanoTime() - start > budgetNanos) {
+                    timedOut = true;
+                    break;
+                }
+                int t1 = active.poll();
+                if (improve(t1, t.succ(t1)) || improve(t1, t.pred(t1))) {
+                    metrics.sumIteration(1);
+                    active.push(t1);
+                }
+            }
+        }
+
+        finalCost = t.length(cost);
+        if (finalCost > initialCost) { // no sentido do ciclo ficou pior (grafo dirigido): fica o original
+            t.copyFrom(original);
+            finalCost = initialCost;
+        }
+
+        List<Integer> path = t.toCycle(cycle.get(0));
+        metrics.stop();
+        return new PathResult(path, finalCost, metrics);
+    }
+
+    // ----- uma cadeia a partir de (t1, t2); true se o ciclo ficou mais curto -----
+    private boolean improve(int t1, int t2) {
+        chainSize = 0;
+        bestGain = 0;
+        bestDepth = 0;
+        if (!step(t1, t2, cost(t1, t2), 0)) return false;
+
+        // reacende as cidades das arestas que mudaram
+        active.push(t2);
+        for (int k = 0; k < chainSize; k++) {
+            active.push(chainT2[k]);
+            active.push(chainT3[k]);
+            active.push(chainT4[k]);
+        }
+        return true;
+    }
+
+    // nivel depth: (t1, t2) esta aberta com ganho parcial g (removido - adicionado, sem fechar)
+    private boolean step(int t1, int t2, long g, int depth) {
+        if (depth == MAX_DEPTH) return false;
+        boolean forward = t.succ(t1) == t2;
+        int breadth = BREADTH[Math.min(depth, BREADTH.length - 1)];
+
+        // melhores t3 pelo criterio do LK: maximiza d(t3, t4) - d(t2, t3)
+        int[] candT3 = new int[breadth];
+        int[] candT4 = new int[breadth];
+        long[] candScore = new long[breadth];
+        int found = 0;
+        for (int t3 : neighbours[t2]) {
+            int d23 = cost(t2, t3);
+            if (g - d23 <= 0) break; // candidatos em ordem: os proximos tambem não servem
+            if (t3 == t1) continue;
+            int t4 = forward ? t.pred(t3) : t.succ(t3);
+            if (t4 == t2 || t4 == t1 || wasAdded(t3, t4)) continue;
+
+            long score = (long) cost(t3, t4) - d23;
+            int i;
+            if (found < breadth) i = found++;
+            else if (score <= candScore[breadth - 1]) continue;
+            else i = breadth - 1;
+            while (i > 0 && candScore[i - 1] < score) {
+                candT3[i] = candT3[i - 1];
+                candT4[i] = candT4[i - 1];
+                candScore[i] = candScore[i - 1];
+                i--;
+            }
+            candT3[i] = t3;
+            candT4[i] = t4;
+            candScore[i] = score;
+        }
+
+        for (int a = 0; a < found; a++) {
+            int t3 = candT3[a], t4 = candT4[a];
+            metrics.sumOperation(1);
+
+            t.move(t1, t2, t3, t4);
+            chainT2[chainSize] = t2;
+            chainT3[chainSize] = t3;
+            chainT4[chainSize] = t4;
+            chainSize++;
+
+            long g2 = g - cost(t2, t3) + cost(t3, t4);
+            long closed = g2 - cost(t4, t1);
+            if (closed > bestGain) {
+                bestGain = closed;
+                bestDepth = chainSize;
+            }
+
+            if (step(t1, t4, g2, depth + 1)) return true;
+
+            if (bestGain > 0) {
+                // fica o melhor prefixo da cadeia
+                while (chainSize > bestDepth) undo(t1);
+                return true;
+            }
+            undo(t1);
+        }
+        return false;
+    }
+
+    // desfaz o ultimo movimento: agora (t1, t4) e (t2, t3) voltam a ser (t1, t2) e (t3, t4)
+    private void undo(int t1) {
+        chainSize--;
+        t.move(t1, chainT4[chainSize], chainT3[chainSize], chainT2[chainSize]);
+    }
+
+    // (a, b) foi adicionada nesta cadeia: não pode sair de novo
+    private boolean wasAdded(int a, int b) {
+        for (int k = 0; k < chainSize; k++) {
+            int x = chainT2[k], y = chainT3[k];
+            if ((x == a && y == b) || (x == b && y == a)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: matriz de distancias entre todos os pares guardada em arquivo e lida por mmap
+ * o arquivo se chama apsp-<hash do grafo>.bin, então a mesma matriz serve enquanto o grafo
+ * não muda. a leitura é direto da pagina mapeada (FileChannel.map), sem montar matriz no heap.
+ * formato: cabeçalho de 32 bytes (magic, formato, n, hash) + n * n int little-endian,
+ * linha u - 1, coluna v - 1, Graph.INF onde não tem caminho
+ */
+
+package src.Algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+public final class MappedDistanceMatrix implements DistanceMatrix {
+
+    public static final String DEFAULT_DIR = "apsp-cache";
+
+    // ate aqui, e com o grafo denso, o Floyd-Warshall em memoria compensa; senão um Dijkstra por linha
+    public static final int FLOYD_WARSHALL_MAX_NODES = 4096;
+
+    private static final int MAGIC = 0x50535041; // "APSP"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final int nodesNum;
+    private final long hash;
+    private final int rowsPerChunk;   // um mapeamento tem no maximo 2 GB, então a matriz vai em pedaços
+    private final IntBuffer[] chunks;
+
+    public Metrics metrics = new Metrics(); // tempo para abrir (e calcular, se não tinha arquivo)
+
+    private MappedDistanceMatrix(int nodesNum, long hash, IntBuffer[] chunks, int rowsPerChunk) {
+        this.nodesNum = nodesNum;
+        this.hash = hash;
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+    // ----- getters -----
+    @Override
+    public int getNodesNum() { return nodesNum; }
+    public long getHash() { return hash; }
+
+    @Override
+    public int distance(int u, int v) {
+        int row = u - 1;
+        return chunks[row / rowsPerChunk].get((row % rowsPerChunk) * nodesNum + (v - 1));
+    }
+
+    // ----- matriz do grafo na pasta padrão -----
+    public static MappedDistanceMatrix forGraph(Graph graph) throws IOException {
+        return forGraph(graph, Paths.get(DEFAULT_DIR));
+    }
+
+    // ----- abre o arquivo do grafo; se não existe (ou não bate), calcula e grava antes -----
+    public static MappedDistanceMatrix forGraph(Graph graph, Path dir) throws IOException {
+        Metrics m = new Metrics();
+        m.start();
+
+        CsrGraph g = graph.toCsr();
+        long hash = g.contentHash();
+        Path file = dir.resolve(String.format("apsp-%016x.bin", hash));
+
+        MappedDistanceMatrix matrix = Files.exists(file) ? open(file) : null;
+        if (matrix == null || matrix.hash != hash || matrix.nodesNum != g.getNodesNum()) {
+            Files.createDirectories(dir);
+            write(graph, file);
+            matrix = open(file);
+        }
+
+        m.stop();
+        matrix.metrics = m;
+        return matrix;
+    }
+
+    // ----- mapeia um arquivo ja gravado (null se o cabeçalho não é de uma matriz) -----
+    public static MappedDistanceMatrix open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header) >= 0) { }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != FORMAT) return null;
+            int n = header.getInt();
+            header.getInt();
+            long hash = header.getLong();
+            if (ch.size() != HEADER_BYTES + 4L * n * n) return null;
+
+            int rowsPerChunk = rowsPerChunk(n);
+            IntBuffer[] chunks = map(ch, FileChannel.MapMode.READ_ONLY, n, rowsPerChunk);
+            return new MappedDistanceMatrix(n, hash, chunks, rowsPerChunk); // o mapeamento continua valendo sem o canal
+        }
+    }
+
+    // ----- calcula as distancias do grafo e grava no arquivo -----
+    // grava num temporario e depois renomeia, para ninguem abrir um arquivo pela metade
+    public static void write(Graph graph, Path file) throws IOException {
+        CsrGraph g = graph.toCsr();
+        int n = g.getNodesNum();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(FORMAT).putInt(n).putInt(0).putLong(g.contentHash());
+            header.flip();
+            while (header.hasRemaining()) ch.write(header, header.position());
+
+            int rowsPerChunk = rowsPerChunk(n);
+            IntBuffer[] chunks = map(ch, FileChannel.MapMode.READ_WRITE, n, rowsPerChunk);
+
+            if (n <= FLOYD_WARSHALL_MAX_NODES && g.getEdgesNum() >= (long) n * n / 4) {
+                // denso: Floyd-Warshall em memoria e copia linha por linha
+                int[] dist = FloydWarshall.compute(graph).rawDistances();
+                for (int row = 0; row < n; row++) {
+                    IntBuffer chunk = chunks[row / rowsPerChunk];
+                    chunk.put((row % rowsPerChunk) * n, dist, row * n, n);
+                }
+            } else {
+                // esparso: um Dijkstra por origem, em paralelo, cada linha direto no arquivo
+                IntStream.rangeClosed(1, n).parallel().forEach(u -> {
+                    DijkstraWorkspace ws = DijkstraWorkspace.acquire(n);
+                    Dijkstra.search(g, u, -1, ws);
+                    int row = u - 1;
+                    IntBuffer chunk = chunks[row / rowsPerChunk];
+                    int base = (row % rowsPerChunk) * n;
+                    for (int v = 1; v <= n; v++) {
+                        int d = ws.dist(v);
+                        chunk.put(base + v - 1, d == Integer.MAX_VALUE ? Graph.INF : d);
+                    }
+                });
+            }
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int rowsPerChunk(int n) {
+        return Math.max(1, (int) (Integer.MAX_VALUE / (4L * Math.max(n, 1))));
+    }
+
+    private static IntBuffer[] map(FileChannel ch, FileChannel.MapMode mode, int n, int rowsPerChunk) throws IOException {
+        int count = n == 0 ? 0 : (n + rowsPerChunk - 1) / rowsPerChunk;
+        IntBuffer[] chunks = new IntBuffer[count];
+        for (int c = 0; c < count; c++) {
+            int rows = Math.min(rowsPerChunk, n - c * rowsPerChunk);
+            long offset = HEADER_BYTES + 4L * c * rowsPerChunk * n;
+            chunks[c] = ch.map(mode, offset, 4L * rows * n).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: listas de candidatos das buscas locais do caixeiro: os k vizinhos mais
+ * proximos de cada cidade do ciclo, do mais perto pro mais longe (empate: menor id).
+ * com matriz de distancias olha todos os pares; com o grafo so as arestas que saem
+ * da cidade (CSR). uma cidade por tarefa, em paralelo
+ */
+
+package src.Algorithms;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import src.Core.CsrGraph;
+import src.Core.Graph;
+
+final class NeighbourLists {
+
+    private NeighbourLists() { }
+
+    // neighbours[c] = candidatos de c (null para cidades fora do ciclo)
+    // com matriz olha todos os pares (O(n²)); sem matriz, as arestas que saem da cidade
+    static int[][] build(ArrayTour t, Graph graph, DistanceMatrix distances, int k) {
+        return distances != null ? allPairs(t, distances, k) : graphEdges(t, graph, null, k);
+    }
+
+    // ----- todos os pares do ciclo pela matriz -----
+    static int[][] allPairs(ArrayTour t, DistanceMatrix distances, int k) {
+        int kk = Math.min(k, t.n - 1);
+        int[][] neighbours = new int[t.maxCity() + 1][];
+        IntStream.range(0, t.n).parallel().forEach(i -> {
+            int a = t.tour[i];
+            Nearest best = new Nearest(kk);
+            for (int c : t.tour) if (c != a) best.offer(c, distances.distance(a, c));
+            neighbours[a] = best.cities();
+        });
+        return neighbours;
+    }
+
+    // ----- so as arestas do grafo (CSR), ordenadas pela matriz se houver -----
+    // para instancias grandes: o grafo esparso diz quem é candidato e a matriz o custo
+    static int[][] graphEdges(ArrayTour t, Graph graph, DistanceMatrix distances, int k) {
+        int kk = Math.min(k, t.n - 1);
+        int[][] neighbours = new int[t.maxCity() + 1][];
+        CsrGraph g = graph.toCsr();
+        IntStream.range(0, t.n).parallel().forEach(i -> {
+            int a = t.tour[i];
+            Nearest best = new Nearest(kk);
+            int end = a <= g.getNodesNum() ? g.outEnd(a) : 0;
+            for (int e = end == 0 ? 0 : g.outBegin(a); e < end; e++) {
+                int c = g.target(e);
+                if (c != a && t.contains(c)) best.offer(c, distances != null ? distances.distance(a, c) : g.weight(e));
+            }
+            neighbours[a] = best.cities();
+        });
+        return neighbours;
+    }
+
+    // k menores (custo, cidade) em ordem, por inserção
+    private static final class Nearest {
+        private final int[] city;
+        private final int[] dist;
+        private int size = 0;
+
+        Nearest(int k) {
+            city = new int[k];
+            dist = new int[k];
+        }
+
+        void offer(int c, int d) {
+            if (d >= Graph.INF || city.length == 0) return;
+            for (int i = 0; i < size; i++) {
+                if (city[i] != c) continue;
+                if (dist[i] <= d) return; // aresta paralela mais pesada
+                remove(i);
+                break;
+            }
+            if (size == city.length && (d > dist[size - 1] || (d == dist[size - 1] && c > city[size - 1]))) return;
+            int i = size == city.length ? size - 1 : size++;
+            while (i > 0 && (dist[i - 1] > d || (dist[i - 1] == d && city[i - 1] > c))) {
+                city[i] = city[i - 1];
+                dist[i] = dist[i - 1];
+                i--;
+            }
+            city[i] = c;
+            dist[i] = d;
+        }
+
+        private void remove(int i) {
+            System.arraycopy(city, i + 1, city, i, size - i - 1);
+            System.arraycopy(dist, i + 1, dist, i, size - i - 1);
+            size--;
+        }
+
+        int[] cities() { return Arrays.copyOf(city, size); }
+    }
+}
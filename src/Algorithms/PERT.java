@@ -8,6 +8,7 @@ package src.Algorithms;
 
 import java.util.*;
 
+import src.Core.CsrGraph;
 import src.Core.Edge;
 import src.Core.Graph;
 
@@ -36,40 +37,15 @@ public class PERT {
 
     public void calcularPERT() {
         int n = graph.getNodesNum();
+        CsrGraph g = graph.toCsr();
 
-        // Forward pass
-        Arrays.fill(early, 0);
-        boolean changed;
-        do {
-            changed = false;
-            for (Edge e : graph.getEdges()) {
-                int u = e.getNode1();
-                int v = e.getNode2();
-                int w = e.getWeight();
-                if (early[u] + w > early[v]) {
-                    early[v] = early[u] + w;
-                    changed = true;
-                }
-            }
-        } while (changed);
-
-        // Backward pass
-        int maxTime = 0;
-        for (int i = 1; i <= n; i++) maxTime = Math.max(maxTime, early[i]);
-        Arrays.fill(late, maxTime);
-
-        do {
-            changed = false;
-            for (Edge e : graph.getEdges()) {
-                int u = e.getNode1();
-                int v = e.getNode2();
-                int w = e.getWeight();
-                if (late[v] - w < late[u]) {
-                    late[u] = late[v] - w;
-                    changed = true;
-                }
-            }
-        } while (changed);
+        int[] order = graph.topologicalOrder();
+        int maxTime;
+        if (order != null) {
+            maxTime = topologicalPasses(g, order);
+        } else {
+            maxTime = fixedPointPasses(g, n);
+        }
 
         // Identificar caminho crítico
         criticalPath.clear();
@@ -94,6 +70,74 @@ public class PERT {
     }
 
 
+    // ----- DAG: cada nó é visto uma vez, na ordem topologica (ida) e na inversa (volta) -----
+    private int topologicalPasses(CsrGraph g, int[] order) {
+        // Forward pass: early[v] = maior early[u] + w entre os predecessores
+        Arrays.fill(early, 0);
+        for (int u : order) {
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                int w = g.weight(k);
+                if (early[u] + w > early[v]) early[v] = early[u] + w;
+            }
+        }
+
+        // Backward pass: late[u] = menor late[v] - w entre os sucessores
+        int maxTime = 0;
+        for (int u : order) maxTime = Math.max(maxTime, early[u]);
+        Arrays.fill(late, maxTime);
+        for (int i = order.length - 1; i >= 0; i--) {
+            int u = order[i];
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                int w = g.weight(k);
+                if (late[v] - w < late[u]) late[u] = late[v] - w;
+            }
+        }
+        return maxTime;
+    }
+
+    // ----- sem ordem topologica: repete as varreduras ate nada mudar -----
+    private int fixedPointPasses(CsrGraph g, int n) {
+        // Forward pass
+        Arrays.fill(early, 0);
+        boolean changed;
+        do {
+            changed = false;
+            for (int u = 1; u <= n; u++) {
+                for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                    int v = g.target(k);
+                    int w = g.weight(k);
+                    if (early[u] + w > early[v]) {
+                        early[v] = early[u] + w;
+                        changed = true;
+                    }
+                }
+            }
+        } while (changed);
+
+        // Backward pass
+        int maxTime = 0;
+        for (int i = 1; i <= n; i++) maxTime = Math.max(maxTime, early[i]);
+        Arrays.fill(late, maxTime);
+
+        do {
+            changed = false;
+            for (int v = 1; v <= n; v++) {
+                for (int k = g.inBegin(v); k < g.inEnd(v); k++) {
+                    int u = g.source(k);
+                    int w = g.inWeight(k);
+                    if (late[v] - w < late[u]) {
+                        late[u] = late[v] - w;
+                        changed = true;
+                    }
+                }
+            }
+        } while (changed);
+        return maxTime;
+    }
+
+
     public int getProjectDuration() {
         int n = graph.getNodesNum();
         int maxTime = 0;
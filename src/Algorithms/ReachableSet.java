@@ -0,0 +1,38 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: resultado do Dijkstra.reachableWithin (isocrona)
+ * nodes[i] foi alcançado com custo costs[i] vindo de parents[i]; tudo em ordem crescente de custo
+ */
+
+package src.Algorithms;
+
+public class ReachableSet {
+    public final int origin;
+    public final int budget;
+    public final int[] nodes;
+    public final int[] costs;
+    public final int[] parents;
+
+    public Metrics metrics = new Metrics();
+
+    public ReachableSet(int origin, int budget, int[] nodes, int[] costs, int[] parents, Metrics metrics) {
+        this.origin = origin;
+        this.budget = budget;
+        this.nodes = nodes;
+        this.costs = costs;
+        this.parents = parents;
+        this.metrics = metrics;
+    }
+
+    public int size() { return nodes.length; }
+
+    // ----- marca dos alcançados, indexada pelo nó (para desenhar) -----
+    public boolean[] toMask(int nodesNum) {
+        boolean[] mask = new boolean[nodesNum + 1];
+        for (int v : nodes) {
+            if (v <= nodesNum) mask[v] = true;
+        }
+        return mask;
+    }
+}
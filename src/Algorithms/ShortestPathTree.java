@@ -0,0 +1,73 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: arvore de caminhos minimos de uma origem (resultado do Dijkstra.shortestPathTree)
+ * guarda so dist[] e parent[] primitivos; o caminho de cada nó é montado na hora que pedir
+ */
+
+package src.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class ShortestPathTree {
+
+    private final int origin;
+    private final int nodesNum;
+    private final int graphVersion;
+    private final int[] dist;   // dist[v] = Integer.MAX_VALUE se v não é alcançavel
+    private final int[] parent; // parent[origin] = origin, parent[v] = -1 se não é alcançavel
+
+    public Metrics metrics = new Metrics(); // tempo da busca
+
+    // dist/parent com nodesNum + 1 posições (nós 1..nodesNum), a arvore fica com eles
+    public ShortestPathTree(int origin, int nodesNum, int graphVersion, int[] dist, int[] parent) {
+        this.origin = origin;
+        this.nodesNum = nodesNum;
+        this.graphVersion = graphVersion;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    // ----- getters -----
+    public int getOrigin() { return origin; }
+    public int getNodesNum() { return nodesNum; }
+    public int getGraphVersion() { return graphVersion; }
+    public int distance(int v) { return dist[v]; }
+    public int parent(int v) { return parent[v]; }
+    public boolean isReachable(int v) { return dist[v] != Integer.MAX_VALUE; }
+
+    // bytes ocupados pelos dois vetores (usado para limitar caches)
+    public long memoryBytes() { return 8L * dist.length + 64; }
+
+    // ----- quantos nós tem o caminho origem -> v (0 se não alcança) -----
+    public int pathLength(int v) {
+        if (!isReachable(v)) return 0;
+        int len = 1;
+        for (int curr = v; curr != origin; curr = parent[curr]) len++;
+        return len;
+    }
+
+    // ----- escreve o caminho origem -> v em out[0..len) e retorna len -----
+    public int pathTo(int v, int[] out) {
+        int len = pathLength(v);
+        int curr = v;
+        for (int i = len - 1; i >= 0; i--) {
+            out[i] = curr;
+            curr = parent[curr];
+        }
+        return len;
+    }
+
+    // ----- caminho origem -> target no formato do resto do projeto -----
+    public PathResult pathTo(int target) {
+        if (!isReachable(target)) return new PathResult(null, -1);
+
+        ArrayList<Integer> path = new ArrayList<>();
+        for (int curr = target; curr != origin; curr = parent[curr]) path.add(curr);
+        path.add(origin);
+        Collections.reverse(path);
+
+        return new PathResult(path, dist[target]);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: cache LRU de arvores de caminhos minimos por origem
+ * a primeira consulta de uma origem calcula a arvore inteira; as proximas da mesma origem
+ * so andam pelos pais. limitado por bytes (dist + parent de cada arvore), sai quem foi
+ * usado ha mais tempo. quando a versão do grafo muda (insertEdge, setNodesNum) tudo é descartado
+ */
+
+package src.Algorithms;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import src.Core.Graph;
+
+public class ShortestPathTreeCache {
+
+    public static final long DEFAULT_BUDGET_BYTES = 64L << 20; // 64 MB
+
+    // um cache por grafo
+    private static final Map<Graph, ShortestPathTreeCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<Graph> graph; // fraca: o cache não pode segurar o grafo no WeakHashMap
+    private long budgetBytes;
+    private long usedBytes = 0;
+    private int graphVersion;
+
+    // accessOrder = true: a iteração começa pelo menos usado
+    private final LinkedHashMap<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public ShortestPathTreeCache(Graph graph, long budgetBytes) {
+        this.graph = new WeakReference<>(graph);
+        this.budgetBytes = budgetBytes;
+        this.graphVersion = graph.getVersion();
+    }
+
+    // ----- cache do grafo com o orçamento padrão -----
+    public static ShortestPathTreeCache forGraph(Graph graph) {
+        synchronized (CACHES) {
+            return CACHES.computeIfAbsent(graph, g -> new ShortestPathTreeCache(g, DEFAULT_BUDGET_BYTES));
+        }
+    }
+
+    // ----- getters -----
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public synchronized long getBudgetBytes() { return budgetBytes; }
+    public synchronized int size() { return trees.size(); }
+
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evict();
+    }
+
+    // ----- arvore da origem, do cache ou calculada agora -----
+    public synchronized ShortestPathTree tree(int origin) {
+        Graph graph = graph();
+        if (graphVersion != graph.getVersion()) clear();
+
+        ShortestPathTree tree = trees.get(origin);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+
+        misses++;
+        tree = Dijkstra.shortestPathTree(graph, origin);
+        trees.put(origin, tree);
+        usedBytes += tree.memoryBytes();
+        evict();
+        return tree;
+    }
+
+    // ----- mesmo resultado do Dijkstra.findPathToTarget -----
+    public PathResult findPath(int origin, int target) {
+        Metrics m = new Metrics();
+        m.start();
+        PathResult result = tree(origin).pathTo(target);
+        m.stop();
+        result.metrics = m;
+        return result;
+    }
+
+    // ----- descarta tudo (contadores ficam) -----
+    public synchronized void clear() {
+        trees.clear();
+        usedBytes = 0;
+        graphVersion = graph().getVersion();
+    }
+
+    private Graph graph() {
+        Graph g = graph.get();
+        if (g == null) throw new IllegalStateException("Grafo do cache ja foi coletado");
+        return g;
+    }
+
+    // tira as menos usadas ate caber no orçamento (a ultima inserida sempre fica)
+    private void evict() {
+        Iterator<ShortestPathTree> it = trees.values().iterator();
+        while (usedBytes > budgetBytes && trees.size() > 1) {
+            ShortestPathTree old = it.next();
+            usedBytes -= old.memoryBytes();
+            it.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: escreve uma ShortestPathTree no mesmo formato do findPaths antigo
+ *   Distance from node 1:
+ *   Node 2 = 7 | Path: 1 -> 3 -> 2
+ *   Node 3 = INF
+ * tudo passa por um buffer de bytes grande e so vai pro stream quando ele enche,
+ * em vez de um System.out.print por numero
+ */
+
+package src.Algorithms;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class ShortestPathTreeWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] digits = new byte[11];
+    private int size = 0;
+
+    private ShortestPathTreeWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    // ----- escreve no arquivo (sobrescreve) -----
+    public static void write(ShortestPathTree tree, String fileName) throws IOException {
+        try (FileOutputStream file = new FileOutputStream(fileName)) {
+            write(tree, file);
+        }
+    }
+
+    // ----- escreve no stream (não fecha, so da flush no fim) -----
+    public static void write(ShortestPathTree tree, OutputStream out) throws IOException {
+        ShortestPathTreeWriter w = new ShortestPathTreeWriter(out);
+        int origin = tree.getOrigin();
+        int n = tree.getNodesNum();
+        int[] path = new int[n + 1];
+
+        w.ascii("Distance from node ").number(origin).ascii(":\n");
+        for (int i = 1; i <= n; i++) {
+            w.ascii("Node ").number(i);
+            if (!tree.isReachable(i)) {
+                w.ascii(" = INF\n");
+                continue;
+            }
+            w.ascii(" = ").number(tree.distance(i)).ascii(" | Path: ");
+
+            int len = tree.pathTo(i, path);
+            for (int k = 0; k < len; k++) {
+                w.number(path[k]);
+                if (k < len - 1) w.ascii(" -> ");
+            }
+            w.ascii("\n");
+        }
+        w.flush();
+    }
+
+    private ShortestPathTreeWriter ascii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            if (size == BUFFER_SIZE) drain();
+            buffer[size++] = (byte) s.charAt(i);
+        }
+        return this;
+    }
+
+    // inteiro em decimal sem passar por String
+    private ShortestPathTreeWriter number(int x) throws IOException {
+        if (size + 11 > BUFFER_SIZE) drain();
+        long v = x;
+        if (v < 0) {
+            buffer[size++] = '-';
+            v = -v;
+        }
+        int len = 0;
+        do {
+            digits[len++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v > 0);
+        while (len > 0) buffer[size++] = digits[--len];
+        return this;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, size);
+        size = 0;
+    }
+
+    private void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: busca local 2-opt + Or-opt para melhorar um ciclo ja pronto (Farthest Insertion, ACO)
+ * o ciclo fica num vetor com o indice de posição de cada cidade (ArrayTour). cada cidade so testa
+ * movimentos com os seus k vizinhos mais proximos, e cidades que não melhoraram ficam
+ * "apagadas" (don't-look bits) ate uma aresta perto delas mudar, então cada passada fica
+ * quase linear. os ganhos supõem custo simetrico, então a busca mede cada par pelo pior
+ * dos dois sentidos (max(w(u, v), w(v, u))): num grafo dirigido o ciclo so anda por aresta que
+ * existe nos dois sentidos e cada movimento encurta de verdade, então a busca termina. o
+ * custo final é medido no sentido do ciclo; se sair pior volta o ciclo original
+ */
+
+package src.Algorithms;
+
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import src.Core.Graph;
+
+public class TourLocalSearch {
+
+    public static final int DEFAULT_NEIGHBOURS = 8;
+    public static final int MAX_SEGMENT = 3; // Or-opt move trechos de 1 a 3 cidades
+
+    private final Graph graph;
+    private final DistanceMatrix distances; // null = peso da aresta direto do grafo (mesmo custo do FI)
+    private final int neighboursPerCity;
+    private final IntBinaryOperator cost; // custo dirigido (tamanho do ciclo)
+
+    private ArrayTour t;
+    private int[][] neighbours; // vizinhos de cada cidade, do mais perto pro mais longe
+    private DontLookBits active;
+
+    private int initialCost = -1;
+    private int finalCost = -1;
+
+    public Metrics metrics = new Metrics(); // iterations = movimentos aplicados, operations = ganhos avaliados
+
+    public TourLocalSearch(Graph graph) {
+        this(graph, null, DEFAULT_NEIGHBOURS);
+    }
+
+    // matriz pronta (ex.: MappedDistanceMatrix) com custo de verdade para todo par: se um par
+    // sem aresta valer 0, a busca acha que ele é de graça
+    public TourLocalSearch(Graph graph, DistanceMatrix distances) {
+        this(graph, distances, DEFAULT_NEIGHBOURS);
+    }
+
+    public TourLocalSearch(Graph graph, DistanceMatrix distances, int neighboursPerCity) {
+        this.graph = graph;
+        this.distances = distances;
+        this.neighboursPerCity = neighboursPerCity;
+        this.cost = distances != null ? distances::distance : graph::getEdgeWeight;
+    }
+
+    // ----- getters -----
+    public int getInitialCost() { return initialCost; }
+    public int getFinalCost() { return finalCost; }
+    public int getImprovement() { return initialCost - finalCost; }
+
+    public String report() {
+        double percent = initialCost > 0 ? 100.0 * getImprovement() / initialCost : 0.0;
+        return String.format("[2-opt/Or-opt] %d -> %d (-%.2f%%) moves=%d %s",
+                initialCost, finalCost, percent, metrics.getIterations(), metrics.toString());
+    }
+
+    // custo simetrico dos ganhos
+    private int cost(int u, int v) {
+        return Math.max(cost.applyAsInt(u, v), cost.applyAsInt(v, u));
+    }
+
+    // ----- melhora o ciclo do resultado (fechado: ultimo = primeiro) -----
+    public PathResult optimize(PathResult result) {
+        return optimize(result.path);
+    }
+
+    public PathResult optimize(List<Integer> cycle) {
+        metrics = new Metrics();
+        metrics.start();
+
+        if (cycle == null || cycle.size() < 2) {
+            metrics.stop();
+            return new PathResult(cycle, cycle == null ? Graph.INF : 0, metrics);
+        }
+
+        t = new ArrayTour(cycle);
+        int[] original = t.tour.clone();
+        initialCost = t.length(cost);
+
+        if (t.n >= 5) {
+            neighbours = NeighbourLists.build(t, graph, distances, neighboursPerCity);
+            active = new DontLookBits(t);
+            while (!active.isEmpty()) {
+                int a = active.poll();
+                if (twoOpt(a) || orOpt(a)) metrics.sumIteration(1);
+            }
+        }
+
+        finalCost = t.length(cost);
+        if (finalCost > initialCost) { // no sentido do ciclo ficou pior (grafo dirigido): fica o original
+            t.copyFrom(original);
+            finalCost = initialCost;
+        }
+
+        // mesma cidade inicial do ciclo recebido
+        List<Integer> path = t.toCycle(cycle.get(0));
+        metrics.stop();
+        return new PathResult(path, finalCost, metrics);
+    }
+
+    // ----- 2-opt: troca (a, b) e (c, d) por (a, c) e (b, d), com c vizinho de a -----
+    private boolean twoOpt(int a) {
+        for (int dir = 0; dir < 2; dir++) {
+            boolean forward = dir == 0;
+            int b = forward ? t.succ(a) : t.pred(a);
+            int dab = cost(a, b);
+
+            for (int c : neighbours[a]) {
+                int dac = cost(a, c);
+                if (dac >= dab) break; // vizinhos em ordem: daqui pra frente nenhum ganha
+                int d = forward ? t.succ(c) : t.pred(c);
+                if (c == b || d == a) continue;
+
+                metrics.sumOperation(1);
+                long gain = (long) dab + cost(c, d) - dac - cost(b, d);
+                if (gain > 0) {
+                    // para frente: a b ... c d -> a c ... b d; para tras: b a ... d c -> b d ... a c
+                    if (forward) t.reversePath(t.pos[b], t.pos[c]);
+                    else t.reversePath(t.pos[a], t.pos[d]);
+                    push(a, b, c, d);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ----- Or-opt: tira o trecho que começa em a (1 a 3 cidades) e põe ao lado de um vizinho c -----
+    private boolean orOpt(int a) {
+        int n = t.n;
+        for (int len = 1; len <= MAX_SEGMENT && len + 3 <= n; len++) {
+            int i = t.pos[a];
+            int s1 = a, sL = t.tour[(i + len - 1) % n];
+            int p = t.pred(s1), nx = t.succ(sL);
+            long removeGain = (long) cost(p, s1) + cost(sL, nx) - cost(p, nx);
+            if (removeGain <= 0) continue;
+
+            for (int c : neighbours[a]) {
+                int dac = cost(a, c);
+                if (removeGain - dac <= 0) break;
+                if ((t.pos[c] - i + n) % n < len) continue; // c esta no trecho
+
+                // c s1 ... sL e (mesmo sentido)
+                int e = t.succ(c);
+                if (c != p) {
+                    metrics.sumOperation(1);
+                    long gain = removeGain - ((long) cost(c, s1) + cost(sL, e) - cost(c, e));
+                    if (gain > 0) {
+                        t.moveSegment(i, len, c, false);
+                        push(p, nx, s1, sL);
+                        active.push(c);
+                        active.push(e);
+                        return true;
+                    }
+                }
+
+                // f sL ... s1 c (trecho invertido)
+                int f = t.pred(c);
+                if (c != nx) {
+                    metrics.sumOperation(1);
+                    long gain = removeGain - ((long) cost(f, sL) + cost(s1, c) - cost(f, c));
+                    if (gain > 0) {
+                        t.moveSegment(i, len, f, true);
+                        push(p, nx, s1, sL);
+                        active.push(c);
+                        active.push(f);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void push(int a, int b, int c, int d) {
+        active.push(a);
+        active.push(b);
+        active.push(c);
+        active.push(d);
+    }
+}
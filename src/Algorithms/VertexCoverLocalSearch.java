@@ -8,6 +8,7 @@ package src.Algorithms;
 
 import java.util.*;
 
+import src.Core.CsrGraph;
 import src.Core.Graph;
 
 public class VertexCoverLocalSearch {
@@ -19,13 +20,23 @@ public class VertexCoverLocalSearch {
         for (src.Core.Edge e : g.getEdges()) {
             list.add(new Edge(e.getNode1(), e.getNode2()));
         }
-        return vertexCoverFromMaximalMatching(g.getNodesNum(), list);
+        Set<Integer> cover = greedyMatching(g.getNodesNum(), list);
+        removeRedundant(g.toCsr(), cover);
+
+        return cover;
     }
 
     public static Set<Integer> vertexCoverFromMaximalMatching(int n, List<Edge> edges) {
+        Set<Integer> cover = greedyMatching(n, edges);
+        removeRedundant(edges, cover);
+
+        return cover;
+    }
+
+    // ----- Greedy maximal matching: percorre arestas e, se ambos endpoints livres, marca ambos -----
+    private static Set<Integer> greedyMatching(int n, List<Edge> edges) {
         Set<Integer> cover = new HashSet<>();
         boolean[] matched = new boolean[n + 1]; 
-        // Greedy maximal matching: percorre arestas e, se ambos endpoints livres, marca ambos
         for (Edge e : edges) {
             if (!matched[e.u] && !matched[e.v]) {
                 matched[e.u] = true;
@@ -34,11 +45,38 @@ public class VertexCoverLocalSearch {
                 cover.add(e.v);
             }
         }
-        removeRedundant(edges, cover);
-
         return cover;
     }
 
+    // ----- Remove vértices redundantes usando o CSR -----
+    // v pode sair se todos os vizinhos (entrada e saida) continuam na cobertura,
+    // sem precisar revalidar todas as arestas do grafo
+    private static void removeRedundant(CsrGraph g, Set<Integer> cover) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            List<Integer> list = new ArrayList<>(cover);
+            for (int v : list) {
+                cover.remove(v);
+                if (!isCoveredWithout(g, v, cover)) {
+                    cover.add(v); // é necessário
+                } else {
+                    changed = true; // removemos com sucesso
+                }
+            }
+        }
+    }
+
+    private static boolean isCoveredWithout(CsrGraph g, int v, Set<Integer> cover) {
+        for (int k = g.outBegin(v); k < g.outEnd(v); k++) {
+            if (!cover.contains(g.target(k))) return false;
+        }
+        for (int k = g.inBegin(v); k < g.inEnd(v); k++) {
+            if (!cover.contains(g.source(k))) return false;
+        }
+        return true;
+    }
+
     // ----- Remove vértices redundantes da cobertura ------
     private static void removeRedundant(List<Edge> edges, Set<Integer> cover) {
         boolean changed = true;
@@ -0,0 +1,135 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: fotografia imutavel do grafo em formato CSR (compressed sparse row)
+ * os algoritimos andam nos vizinhos de um no sem varrer a lista de arestas inteira
+ */
+
+package src.Core;
+
+import java.util.List;
+
+public final class CsrGraph {
+
+    private final int nodesNum;
+    private final int edgesNum;
+
+    // arestas de saida: vizinhos de u ficam em targets[offsets[u] .. offsets[u + 1] - 1]
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeIds;     // posição da aresta em Graph.getEdges()
+
+    // arestas de entrada (CSR reverso): predecessores de v
+    private final int[] revOffsets;
+    private final int[] revSources;
+    private final int[] revWeights;
+    private final int[] revEdgeIds;
+
+    private final int minWeight;
+    private final int maxWeight;
+
+    // ----- construtor (use Graph.toCsr()) -----
+    CsrGraph(int nodesNum, List<Edge> edges) {
+        int n = nodesNum;
+        for (Edge e : edges) {
+            n = Math.max(n, Math.max(e.getNode1(), e.getNode2()));
+        }
+        int m = edges.size();
+        this.nodesNum = n;
+        this.edgesNum = m;
+
+        this.offsets = new int[n + 2];
+        this.targets = new int[m];
+        this.weights = new int[m];
+        this.edgeIds = new int[m];
+
+        this.revOffsets = new int[n + 2];
+        this.revSources = new int[m];
+        this.revWeights = new int[m];
+        this.revEdgeIds = new int[m];
+
+        // conta os graus
+        for (Edge e : edges) {
+            offsets[e.getNode1() + 1]++;
+            revOffsets[e.getNode2() + 1]++;
+        }
+        for (int i = 1; i < n + 2; i++) {
+            offsets[i] += offsets[i - 1];
+            revOffsets[i] += revOffsets[i - 1];
+        }
+
+        // preenche mantendo a ordem de inserção dentro de cada no
+        int[] fill = new int[n + 1];
+        int[] revFill = new int[n + 1];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int id = 0; id < m; id++) {
+            Edge e = edges.get(id);
+            int u = e.getNode1();
+            int v = e.getNode2();
+            int w = e.getWeight();
+
+            int slot = offsets[u] + fill[u]++;
+            targets[slot] = v;
+            weights[slot] = w;
+            edgeIds[slot] = id;
+
+            int revSlot = revOffsets[v] + revFill[v]++;
+            revSources[revSlot] = u;
+            revWeights[revSlot] = w;
+            revEdgeIds[revSlot] = id;
+
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        this.minWeight = m == 0 ? 0 : min;
+        this.maxWeight = m == 0 ? 0 : max;
+    }
+
+    // ----- getters -----
+    public int getNodesNum() { return nodesNum; }
+    public int getEdgesNum() { return edgesNum; }
+    public int getMinWeight() { return minWeight; }
+    public int getMaxWeight() { return maxWeight; }
+
+    // ----- arestas de saida -----
+    public int outBegin(int u) { return offsets[u]; }
+    public int outEnd(int u) { return offsets[u + 1]; }
+    public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+    public int target(int slot) { return targets[slot]; }
+    public int weight(int slot) { return weights[slot]; }
+    public int edgeId(int slot) { return edgeIds[slot]; }
+
+    // ----- arestas de entrada -----
+    public int inBegin(int v) { return revOffsets[v]; }
+    public int inEnd(int v) { return revOffsets[v + 1]; }
+    public int inDegree(int v) { return revOffsets[v + 1] - revOffsets[v]; }
+    public int source(int revSlot) { return revSources[revSlot]; }
+    public int inWeight(int revSlot) { return revWeights[revSlot]; }
+    public int inEdgeId(int revSlot) { return revEdgeIds[revSlot]; }
+
+    // ----- hash do conteudo (nós, arestas e pesos), para achar resultados salvos em disco -----
+    // FNV-1a de 64 bits; dois grafos com as mesmas arestas na mesma ordem dão o mesmo hash
+    public long contentHash() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, nodesNum);
+        h = mix(h, edgesNum);
+        for (int u = 1; u <= nodesNum; u++) {
+            h = mix(h, offsets[u + 1] - offsets[u]);
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                h = mix(h, targets[k]);
+                h = mix(h, weights[k]);
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, int x) {
+        for (int i = 0; i < 4; i++) {
+            h ^= (x >>> (8 * i)) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
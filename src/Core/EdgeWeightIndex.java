@@ -0,0 +1,126 @@
+/*
+ * Autor: Cristopher Resende
+ * Data: 18/10/2026
+ * Descrição: indice de peso das arestas para o Graph.getEdgeWeight em O(1)
+ * pode ser uma tabela hash de endereçamento aberto (chave (u,v) empacotada num long)
+ * ou uma matriz densa num int[] so, para grafos lidos de matriz de adjacencia
+ */
+
+package src.Core;
+
+import java.util.Arrays;
+
+public final class EdgeWeightIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE; // (u,v) = (MIN_VALUE, 0) nunca é um nó valido
+
+    private final boolean dense;
+
+    // ----- modo denso -----
+    private final int dim;
+    private final int[] matrix;
+
+    // ----- modo hash -----
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    private EdgeWeightIndex(boolean dense, int dim, int capacity) {
+        this.dense = dense;
+        this.dim = dim;
+        if (dense) {
+            this.matrix = new int[dim * dim];
+            Arrays.fill(matrix, Graph.INF);
+        } else {
+            this.matrix = null;
+            allocate(capacity);
+        }
+    }
+
+    // ----- cria indice hash para ~expectedEdges arestas -----
+    public static EdgeWeightIndex hashed(int expectedEdges) {
+        int capacity = 16;
+        while (capacity < expectedEdges * 2) capacity <<= 1; // fator de carga <= 0.5
+        return new EdgeWeightIndex(false, 0, capacity);
+    }
+
+    // ----- cria matriz densa para nós 0..nodesNum -----
+    public static EdgeWeightIndex dense(int nodesNum) {
+        return new EdgeWeightIndex(true, nodesNum + 1, 0);
+    }
+
+    public boolean isDense() { return dense; }
+
+    // ----- retorna o peso de u->v ou Graph.INF se não existir -----
+    public int get(int u, int v) {
+        if (dense) {
+            if (u < 0 || v < 0 || u >= dim || v >= dim) return Graph.INF;
+            return matrix[u * dim + v];
+        }
+        long key = pack(u, v);
+        int i = slot(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return Graph.INF;
+            i = (i + 1) & mask;
+        }
+    }
+
+    // ----- registra u->v; a primeira aresta inserida ganha, igual a busca linear antiga -----
+    // retorna false se a matriz densa não comporta o nó (quem chama deve descartar o indice)
+    public boolean put(int u, int v, int weight) {
+        if (dense) {
+            if (u < 0 || v < 0 || u >= dim || v >= dim) return false;
+            int idx = u * dim + v;
+            if (matrix[idx] == Graph.INF) matrix[idx] = weight;
+            return true;
+        }
+        if ((size + 1) * 2 > keys.length) grow();
+        long key = pack(u, v);
+        int i = slot(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) return true;
+            if (k == EMPTY) {
+                keys[i] = key;
+                values[i] = weight;
+                size++;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static long pack(int u, int v) {
+        return ((long) u << 32) | (v & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int j = slot(oldKeys[i]);
+            while (keys[j] != EMPTY) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+            size++;
+        }
+    }
+}
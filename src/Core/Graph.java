@@ -20,10 +20,29 @@ public class Graph {
     private ArrayList<Edge> edges;
     public static final int INF = Integer.MAX_VALUE / 2;
 
+    // versão do grafo: muda a cada alteração e invalida a fotografia CSR
+    private int version;
+    // versão da topologia: so muda quando entram nós ou arestas (peso novo não conta)
+    private int topologyVersion;
+    private CsrGraph csr;
+    private int csrVersion = -1;
+
+    // ordem topologica (null se tem ciclo), refeita so quando a topologia muda
+    private int[] topoOrder;
+    private int topoOrderVersion = -1;
+
+    // indice do getEdgeWeight: criado na primeira consulta, descartado quando o grafo muda.
+    // so é publicado depois de pronto (volatile), então leitores em outras threads nunca veem
+    // um indice pela metade; mudar o grafo com leitores rodando continua não sendo suportado
+    private volatile EdgeWeightIndex weightIndex;
+    private boolean denseWeightIndex = false;
+
     public Graph(int nodesNum) {
         this.nodesNum = nodesNum;
         this.quantity = 0;
         this.edges = new ArrayList<>();
+        this.version = 0;
+        this.topologyVersion = 0;
     }
     
     
@@ -31,22 +50,71 @@ public class Graph {
     public int getNodesNum(){ return this.nodesNum; }
     public int getQuantity(){ return this.quantity; }
     public List<Edge> getEdges() { return Collections.unmodifiableList(edges); }
+    public int getVersion() { return this.version; }
+    public int getTopologyVersion() { return this.topologyVersion; }
     public int getEdgeWeight(int u, int v) {
-        for (Edge e : edges) {
-            if (e.getNode1() == u && e.getNode2() == v) {
-                return e.getWeight();
-            }
-        }
-        return INF; // Retorna INF se não houver aresta
+        EdgeWeightIndex index = weightIndex; // le uma vez: outra thread pode descartar no meio
+        if (index == null) index = buildWeightIndex();
+        return index.get(u, v); // Retorna INF se não houver aresta
     }
 
     // ----- setters -----
-    public void setNodesNum(int x){ this.nodesNum = x; }
+    public void setNodesNum(int x){
+        this.nodesNum = x;
+        this.version++;
+        this.topologyVersion++;
+        EdgeWeightIndex index = weightIndex;
+        if (index != null && index.isDense()) weightIndex = null; // refaz com o novo tamanho
+    }
+
+    // ----- escolhe matriz densa (true) ou hash (false) para o getEdgeWeight -----
+    public void setDenseWeightIndex(boolean dense) {
+        if (this.denseWeightIndex != dense) weightIndex = null;
+        this.denseWeightIndex = dense;
+    }
 
     // ----- insere aresta no Grafo -----
     public void insertEdge(int node1, int node2, int weight){
         edges.add(new Edge(node1, node2, weight));
         this.quantity++;
+        this.version++;
+        this.topologyVersion++;
+        weightIndex = null; // não altera um indice ja publicado, a proxima consulta refaz
+    }
+
+    // ----- troca o peso da aresta na posição index de getEdges() (a topologia fica igual) -----
+    public void setEdgeWeight(int index, int weight) {
+        Edge e = edges.get(index);
+        edges.set(index, new Edge(e.getNode1(), e.getNode2(), weight, e.getName()));
+        this.version++;
+        weightIndex = null; // o indice guarda o peso da primeira aresta do par, mais facil refazer
+    }
+
+    // ----- monta o indice de pesos a partir da lista de arestas -----
+    // monta numa variavel local e so publica no campo depois de preenchido
+    private EdgeWeightIndex buildWeightIndex() {
+        int maxNode = nodesNum;
+        for (Edge e : edges) maxNode = Math.max(maxNode, Math.max(e.getNode1(), e.getNode2()));
+
+        // matriz densa so se couber num int[]
+        EdgeWeightIndex index;
+        if (denseWeightIndex && (long) (maxNode + 1) * (maxNode + 1) <= Integer.MAX_VALUE - 8) {
+            index = EdgeWeightIndex.dense(maxNode);
+        } else {
+            index = EdgeWeightIndex.hashed(edges.size());
+        }
+        for (Edge e : edges) index.put(e.getNode1(), e.getNode2(), e.getWeight());
+        weightIndex = index;
+        return index;
+    }
+
+    // ----- fotografia CSR do grafo, refeita so quando o grafo muda -----
+    public CsrGraph toCsr() {
+        if (csr == null || csrVersion != version) {
+            csr = new CsrGraph(nodesNum, edges);
+            csrVersion = version;
+        }
+        return csr;
     }
 
     // ----- imprime o grafo -----
@@ -102,6 +170,7 @@ public class Graph {
         }
         
         Graph g = new Graph(nodesCount);
+        g.setDenseWeightIndex(true); // grafo completo: matriz densa é mais compacta que o hash
 
         for (int i = 0; i < nodesCount; i++) {       // i+1 = Nó Origem (0-based)
             for (int j = 0; j < nodesCount; j++) {   // j+1 = Nó Destino (0-based)
@@ -327,38 +396,49 @@ public class Graph {
 
     //----- verifica se o grafo é um Directed Acyclic Graph -----
     public boolean isDAG() {
-        int n = this.nodesNum;
-        boolean[] visited = new boolean[n + 1];
-        boolean[] recStack = new boolean[n + 1];
-
-        for (int i = 1; i <= n; i++)
-            if (dfsCycle(i, visited, recStack)) return false;
-
-        return true;
+        return cachedTopologicalOrder() != null;
     }
 
-    // ----- verifica a ciclicidade do grado -----
-    private boolean dfsCycle(int node, boolean[] visited, boolean[] recStack) {
-        if (recStack[node]) return true;
-        if (visited[node]) return false;
+    // ----- ordem topologica dos nós (Kahn), null se o grafo tem ciclo -----
+    // os nós sem entrada saem em ordem crescente, então a ordem é sempre a mesma.
+    // devolve uma copia: quem chama pode mexer sem estragar o cache
+    public int[] topologicalOrder() {
+        int[] order = cachedTopologicalOrder();
+        return order == null ? null : order.clone();
+    }
 
-        visited[node] = true;
-        recStack[node] = true;
+    // fica guardada enquanto a topologia não muda (trocar peso não refaz)
+    private int[] cachedTopologicalOrder() {
+        if (topoOrderVersion != topologyVersion) {
+            topoOrder = kahn(toCsr());
+            topoOrderVersion = topologyVersion;
+        }
+        return topoOrder;
+    }
 
-        for (Edge e : this.edges) {
-            if (e.getNode1() == node) {
-                if (dfsCycle(e.getNode2(), visited, recStack)) return true;
+    private static int[] kahn(CsrGraph g) {
+        int n = g.getNodesNum();
+        int[] inDegree = new int[n + 1];
+        for (int v = 1; v <= n; v++) inDegree[v] = g.inEnd(v) - g.inBegin(v);
+
+        int[] order = new int[n]; // a propria ordem serve de fila
+        int tail = 0;
+        for (int v = 1; v <= n; v++) if (inDegree[v] == 0) order[tail++] = v;
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
+                int v = g.target(k);
+                if (--inDegree[v] == 0) order[tail++] = v;
             }
         }
-
-        recStack[node] = false;
-        return false;
+        return tail == n ? order : null; // sobrou nó com entrada: ciclo
     }
    
     // ----- Dijkstra padrão (versão requerida) -----
     public void dijkstra(int origin) {
 
-        int n = this.nodesNum;
+        CsrGraph g = toCsr();
+        int n = g.getNodesNum();
 
         // nodeTable[i][0] = visitado
         // nodeTable[i][1] = distancia
@@ -393,19 +473,17 @@ public class Graph {
 
             nodeTable[u][0] = 1;
 
-            // relaxamento
-            for (Edge e : edges) {
-                if (e.getNode1() == u) {
+            // relaxamento (so os vizinhos de u, pelo CSR)
+            for (int k = g.outBegin(u); k < g.outEnd(u); k++) {
 
-                    int v = e.getNode2();
-                    int w = e.getWeight();
+                int v = g.target(k);
+                int w = g.weight(k);
 
-                    if (nodeTable[u][1] != Integer.MAX_VALUE &&
-                        nodeTable[u][1] + w < nodeTable[v][1]) {
+                if (nodeTable[u][1] != Integer.MAX_VALUE &&
+                    nodeTable[u][1] + w < nodeTable[v][1]) {
 
-                        nodeTable[v][1] = nodeTable[u][1] + w;
-                        parent[v] = u;
-                    }
+                    nodeTable[v][1] = nodeTable[u][1] + w;
+                    parent[v] = u;
                 }
             }
         }
@@ -65,6 +65,11 @@ public class Main {
             btnDijk.addActionListener(e -> inter.calcularDijkstra());
             topPanel.add(btnDijk);
 
+            // Botao nós alcançaveis dentro de um orçamento (isocrona)
+            javax.swing.JButton btnReach = new javax.swing.JButton("Reachable Within");
+            btnReach.addActionListener(e -> inter.calcularAlcance());
+            topPanel.add(btnReach);
+
             // Botao de calcular PERT
             javax.swing.JButton btnPERT = new javax.swing.JButton("PERT");
             btnPERT.addActionListener(e -> inter.calcularPERT());
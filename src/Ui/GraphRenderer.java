@@ -289,6 +289,9 @@ public class GraphRenderer {
             // Cor do nó (cobertura mínima tem prioridade)
             if (ui.isShowCameras() && ui.getCameraNodes().contains(node)) {
                 g2.setColor(tm.getCameraNodeColor());
+            } else if (ui.getReachableMask() != null && node < ui.getReachableMask().length
+                    && ui.getReachableMask()[node]) {
+                g2.setColor(tm.getReachableNodeColor());
             } else {
                 g2.setColor(tm.getNodeColor());
             }
@@ -335,6 +338,9 @@ public class GraphRenderer {
             } else if (ui.isShowCameras()) {
                 g.drawString("Minimum cover: " + ui.getCameraNodes().size(), 20, ui.HEIGHT - 20);
 
+            } else if (ui.getReachableMask() != null) {
+                g.drawString("Reachable within " + ui.getReachableBudget() + ": " + ui.getReachableCount() + " nodes", 20, ui.HEIGHT - 20);
+
             } else {
                 g.drawString("Number of edges: " + ui.getGraph().getQuantity(), 20, ui.HEIGHT - 35);
                 g.drawString("Number of nodes: " + ui.getGraph().getNodesNum(), 20, ui.HEIGHT - 20);
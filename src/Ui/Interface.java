@@ -23,9 +23,14 @@ import java.util.Set;
 import src.Algorithms.AGM;
 import src.Algorithms.AntColony;
 import src.Algorithms.Dijkstra;
+import src.Algorithms.DynamicShortestPathTree;
 import src.Algorithms.FordFulkerson;
 import src.Algorithms.PERT;
 import src.Algorithms.PathResult;
+import src.Algorithms.ReachableSet;
+import src.Algorithms.ShortestPathTree;
+import src.Algorithms.ShortestPathTreeCache;
+import src.Algorithms.TourLocalSearch;
 import src.Algorithms.VertexCoverLocalSearch;
 import src.Core.Edge;
 import src.Core.Graph;
@@ -53,6 +58,12 @@ public class Interface extends Canvas implements Runnable {
     // caminho dijkstra
     private List<Integer> shortestPath = null;
     private int shortestCost = -1;
+    private DynamicShortestPathTree dijkstraTree = null; // arvore da ultima origem, consertada a cada aresta nova
+
+    // isocrona (nós alcançaveis dentro do orçamento)
+    private boolean[] reachableMask = null;
+    private int reachableBudget = -1;
+    private int reachableCount = 0;
 
     // caminho PERT
     private PERT pert;
@@ -181,6 +192,9 @@ public class Interface extends Canvas implements Runnable {
     public boolean isShowAGM() { return showAGM; }
     public Set<Integer> getCameraNodes() { return cameraNodes; }
     public boolean isShowCameras() { return showCameras; }
+    public boolean[] getReachableMask() { return reachableMask; }
+    public int getReachableBudget() { return reachableBudget; }
+    public int getReachableCount() { return reachableCount; }
     public List<Integer> getAnimBestPath() { return animBestPath; }
     public int getFramesPerStep() { return framesPerStep; }
     public int getAnimFrameCounter() { return animFrameCounter; }
@@ -352,6 +366,9 @@ public class Interface extends Canvas implements Runnable {
         animBestLength = Double.POSITIVE_INFINITY;
         hamiltonianCycle = null; 
         hamiltonianCost = -1;
+        reachableMask = null;
+        reachableBudget = -1;
+        reachableCount = 0;
     }
 
     // ----- botao dijkstra -----
@@ -365,7 +382,15 @@ public class Interface extends Canvas implements Runnable {
             int origin = Integer.parseInt(s1);
             int target = Integer.parseInt(s2);
 
-            PathResult result = Dijkstra.findPathToTarget(graph, origin, target);
+            // mesma origem da ultima vez: a arvore dinamica ja esta em dia com as arestas novas
+            PathResult result;
+            if (dijkstraTree != null && dijkstraTree.getOrigin() == origin) {
+                result = dijkstraTree.pathTo(target);
+            } else {
+                ShortestPathTree tree = ShortestPathTreeCache.forGraph(graph).tree(origin);
+                dijkstraTree = new DynamicShortestPathTree(graph, tree);
+                result = tree.pathTo(target);
+            }
 
             shortestPath = result.path;
             shortestCost = result.totalCost;
@@ -373,7 +398,9 @@ public class Interface extends Canvas implements Runnable {
             if (shortestPath == null) {
                 javax.swing.JOptionPane.showMessageDialog(null, "no Path Exists!");
             } else {
-                System.out.println("Shortest path: " + shortestPath + " | cost = " + shortestCost);
+                ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(graph);
+                System.out.println("Shortest path: " + shortestPath + " | cost = " + shortestCost
+                        + " | cache hits = " + cache.getHits() + ", misses = " + cache.getMisses());
             }
 
         } catch (Exception e) {
@@ -381,6 +408,30 @@ public class Interface extends Canvas implements Runnable {
         }
     }
 
+    // ----- botao isocrona: nós alcançaveis com custo <= orçamento -----
+    public void calcularAlcance() {
+        try {
+            String s1 = javax.swing.JOptionPane.showInputDialog("Origin:");
+            String s2 = javax.swing.JOptionPane.showInputDialog("Budget:");
+
+            if (s1 == null || s2 == null) return;
+
+            int origin = Integer.parseInt(s1);
+            int budget = Integer.parseInt(s2);
+
+            ReachableSet reach = Dijkstra.reachableWithin(graph, origin, budget);
+            reachableMask = reach.toMask(graph.getNodesNum());
+            reachableBudget = budget;
+            reachableCount = reach.size();
+
+            System.out.println("Reachable within " + budget + " from " + origin + ": " + reach.size()
+                    + " nodes (" + reach.metrics.getElapsedMillis() + " ms)");
+
+        } catch (Exception e) {
+            javax.swing.JOptionPane.showMessageDialog(null, "Invalid input!");
+        }
+    }
+
     // ----- botao Ford-Fulkerson -----
     public void calculaForFulkerson() {
 
@@ -427,7 +478,8 @@ public class Interface extends Canvas implements Runnable {
             //recalcula caso adicionado um no novo
             int maior = Math.max(n1, n2);
             if (maior > graph.getNodesNum()) {
-                graph.setNodesNum(maior);
+                if (dijkstraTree != null) dijkstraTree.setNodesNum(maior);
+                else graph.setNodesNum(maior);
                 if (maior >= nodePosGen) {
                     this.pos = generateForceDirectedPositions(graph);
                 } else {
@@ -435,7 +487,12 @@ public class Interface extends Canvas implements Runnable {
                 }
             }
 
-            graph.insertEdge(n1, n2, w);
+            // com uma arvore do Dijkstra viva, so a parte afetada é refeita
+            if (dijkstraTree != null) {
+                dijkstraTree.insertEdge(n1, n2, w);
+            } else {
+                graph.insertEdge(n1, n2, w);
+            }
 
             // Atualiza o desenho
             if (graph.getNodesNum() >= nodePosGen) {
@@ -468,6 +525,12 @@ public class Interface extends Canvas implements Runnable {
                 initialPheromone);
 
         bestAntPath = colony.solveInstant();
+
+        // pós-otimização 2-opt/Or-opt com os pesos das arestas, como no FI: na matriz das
+        // formigas falta de aresta vale 0 e a busca puxaria o ciclo para arestas que não existem
+        TourLocalSearch localSearch = new TourLocalSearch(graph);
+        bestAntPath = localSearch.optimize(bestAntPath).path;
+        System.out.println(localSearch.report());
         repaint();
     }
 
@@ -503,9 +566,18 @@ public class Interface extends Canvas implements Runnable {
             src.Algorithms.FarthestInsertion fi = new src.Algorithms.FarthestInsertion(graph);
             src.Algorithms.PathResult result = fi.findHamiltonianCycle(); // sem parâmetro
 
+            FIMetrics = result.metrics.toString();
+
+            // pós-otimização 2-opt/Or-opt do ciclo do FI
+            if (result.path != null && result.totalCost != Graph.INF) {
+                TourLocalSearch localSearch = new TourLocalSearch(graph);
+                result = localSearch.optimize(result);
+                System.out.println(localSearch.report());
+                FIMetrics += " | 2-opt/Or-opt: -" + localSearch.getImprovement() + " (" + result.metrics.toString() + ")";
+            }
+
             hamiltonianCycle = result.path;
             hamiltonianCost = result.totalCost;
-            FIMetrics = result.metrics.toString();
 
             if (hamiltonianCycle == null || hamiltonianCost == Graph.INF) {
                 javax.swing.JOptionPane.showMessageDialog(null,
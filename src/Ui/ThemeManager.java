@@ -15,6 +15,7 @@ public class ThemeManager {
     private Color edgeColor;
     private Color hudColor;
     private Color cameraNodeColor;
+    private Color reachableNodeColor;
     private Color animAntColor;
     private Color bestAntColor;
 
@@ -30,6 +31,7 @@ public class ThemeManager {
             edgeColor = new Color(100, 120, 130);
             hudColor = Color.WHITE;
             cameraNodeColor = new Color(255, 165, 0);
+            reachableNodeColor = new Color(170, 90, 230);
             animAntColor = new Color(255, 140, 0);
             bestAntColor = new Color(60, 220, 120);
         } else {
@@ -39,6 +41,7 @@ public class ThemeManager {
             edgeColor = Color.black;
             hudColor = Color.black;
             cameraNodeColor = Color.red;
+            reachableNodeColor = new Color(0, 150, 0);
             animAntColor = new Color(255, 0, 0, 120);
             bestAntColor = Color.BLUE;
         }
@@ -51,6 +54,7 @@ public class ThemeManager {
     public Color getEdgeColor() { return edgeColor; }
     public Color getHudColor() { return hudColor; }
     public Color getCameraNodeColor() { return cameraNodeColor; }
+    public Color getReachableNodeColor() { return reachableNodeColor; }
     public Color getAnimAntColor() { return animAntColor; }
     public Color getBestAntColor() { return bestAntColor; }
 }
\ No newline at end of file